@@ -26,6 +26,8 @@ public class FrexConfig {
 	public static boolean logMaterialPredicateDuplicates = false;
 	public static boolean allowDegenerateFluidFaces = false;
 	public static boolean debugModelLoading = false;
+	/** When true, multipart models made only of simple vanilla models emit one pre-merged mesh per block state. */
+	public static boolean mergeMultipartMeshes = false;
 
 	// Driven by feature flag at renderer setup
 	public static boolean computeVertexTangents = false;
@@ -23,6 +23,7 @@ package io.vram.frex.api.model;
 import org.jetbrains.annotations.Nullable;
 import io.vram.frex.api.buffer.QuadSink;
 import io.vram.frex.api.model.InputContext.Type;
+import io.vram.frex.api.model.fluid.FluidField;
 import io.vram.frex.api.world.BlockEntityRenderData;
 import io.vram.frex.impl.model.BiomeLookupHelper;
 import io.vram.frex.impl.model.ModelLookups;
@@ -82,6 +83,32 @@ public interface BlockModel extends DynamicModel {
 
 		boolean isFluidModel();
 
+		/**
+		 * Section-scoped cache of fluid neighbor data, available during terrain
+		 * rendering when the renderer supports it. Fluid models can use it to avoid
+		 * repeating world queries that adjacent fluid blocks have in common.
+		 *
+		 * @return Fluid field for the section being built, or null if not available.
+		 */
+		default @Nullable FluidField fluidField() {
+			return null;
+		}
+
+		/**
+		 * Level of detail requested by the renderer, from zero (full detail) up to
+		 * {@link #MAX_LOD}. Each level is meant for sections about twice as far away as
+		 * the previous one, where models may emit simpler geometry. Models that have
+		 * no coarser geometry can ignore this.
+		 *
+		 * @return Requested level of detail. Always zero outside of terrain rendering.
+		 */
+		default int lod() {
+			return 0;
+		}
+
+		/** Highest level of detail {@link #lod()} will return. */
+		int MAX_LOD = 3;
+
 		@Override
 		BlockState blockState();
 
@@ -0,0 +1,112 @@
+/*
+ * This file is part of FREX and is licensed to the project under
+ * terms that are compatible with the GNU Lesser General Public License.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership and licensing.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.vram.frex.api.model.fluid;
+
+import it.unimi.dsi.fastutil.Hash;
+import it.unimi.dsi.fastutil.ints.Int2FloatOpenHashMap;
+import io.vram.frex.api.math.PackedSectionPos;
+import io.vram.frex.api.model.BlockModel.BlockInputContext;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.BlockGetter;
+import net.minecraft.world.level.material.Fluid;
+
+/**
+ * Section-scoped cache of fluid neighbor data that adjacent fluid blocks would
+ * otherwise query from the world repeatedly. Each corner height, for example,
+ * is needed by the four fluid blocks that share that corner.
+ *
+ * <p>Renderers provide an instance through {@link BlockInputContext#fluidField()}
+ * during terrain builds and call {@link #prepare(BlockPos)} at the start of each
+ * section. Instances are not thread-safe and should be confined to a single
+ * builder thread.
+ */
+public class FluidField {
+	/** Distinct fluids per section beyond this many are not cached. */
+	protected static final int FLUID_LIMIT = 8;
+
+	protected final Int2FloatOpenHashMap cornerHeights = new Int2FloatOpenHashMap(1024, Hash.FAST_LOAD_FACTOR);
+	protected final Fluid[] fluids = new Fluid[FLUID_LIMIT];
+	protected int fluidCount;
+	protected int originX, originY, originZ;
+
+	public FluidField() {
+		cornerHeights.defaultReturnValue(Float.NaN);
+	}
+
+	/**
+	 * Call at the start of each section.
+	 *
+	 * @param origin Min position of the section being built.
+	 */
+	public void prepare(BlockPos origin) {
+		originX = origin.getX();
+		originY = origin.getY();
+		originZ = origin.getZ();
+		cornerHeights.clear();
+		fluidCount = 0;
+	}
+
+	protected int fluidSlot(Fluid fluid) {
+		final int count = fluidCount;
+
+		for (int i = 0; i < count; ++i) {
+			if (fluids[i] == fluid) {
+				return i;
+			}
+		}
+
+		if (count < FLUID_LIMIT) {
+			fluids[count] = fluid;
+			fluidCount = count + 1;
+			return count;
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Height of the given fluid at the north-west corner of the block at the given position,
+	 * same as the vanilla fluid renderer. Computed once per position and fluid.
+	 *
+	 * @param searchPos Position of the block. Will be modified.
+	 */
+	public float cornerHeight(BlockGetter world, BlockPos.MutableBlockPos searchPos, Fluid fluid) {
+		final int x = searchPos.getX() - originX + 2;
+		final int y = searchPos.getY() - originY + 2;
+		final int z = searchPos.getZ() - originZ + 2;
+		final int slot = fluidSlot(fluid);
+
+		// outside the packable section volume
+		if (slot == -1 || ((x | y | z) & ~31) != 0) {
+			return SimpleFluidModel.nwHeight(world, searchPos, fluid);
+		}
+
+		final int key = (slot << 15) | PackedSectionPos.pack(x - 2, y - 2, z - 2);
+		float result = cornerHeights.get(key);
+
+		if (Float.isNaN(result)) {
+			result = SimpleFluidModel.nwHeight(world, searchPos, fluid);
+			cornerHeights.put(key, result);
+		}
+
+		return result;
+	}
+}
@@ -112,10 +112,21 @@ public class SimpleFluidModel implements FluidModel {
 
 		if (isUpVisible || isDownVisible || isEastVisible || isWestVisible || isNorthVisible || isSouthVisible) {
 			final TextureAtlasSprite stillSprite = sprites[0];
-			float centerNwHeight = nwHeight(world, searchPos.set(centerPos), fluid);
-			float southNwHeight = nwHeight(world, searchPos.setWithOffset(centerPos, Direction.SOUTH), fluid);
-			float southEastNwHeight = nwHeight(world, searchPos.setWithOffset(centerPos, Direction.SOUTH).move(Direction.EAST), fluid);
-			float eastNwHeight = nwHeight(world, searchPos.setWithOffset(centerPos, Direction.EAST), fluid);
+			final FluidField fluidField = input.fluidField();
+			float centerNwHeight, southNwHeight, southEastNwHeight, eastNwHeight;
+
+			if (fluidField == null) {
+				centerNwHeight = nwHeight(world, searchPos.set(centerPos), fluid);
+				southNwHeight = nwHeight(world, searchPos.setWithOffset(centerPos, Direction.SOUTH), fluid);
+				southEastNwHeight = nwHeight(world, searchPos.setWithOffset(centerPos, Direction.SOUTH).move(Direction.EAST), fluid);
+				eastNwHeight = nwHeight(world, searchPos.setWithOffset(centerPos, Direction.EAST), fluid);
+			} else {
+				centerNwHeight = fluidField.cornerHeight(world, searchPos.set(centerPos), fluid);
+				southNwHeight = fluidField.cornerHeight(world, searchPos.setWithOffset(centerPos, Direction.SOUTH), fluid);
+				southEastNwHeight = fluidField.cornerHeight(world, searchPos.setWithOffset(centerPos, Direction.SOUTH).move(Direction.EAST), fluid);
+				eastNwHeight = fluidField.cornerHeight(world, searchPos.setWithOffset(centerPos, Direction.EAST), fluid);
+			}
+
 			final float downBasedOffset = isDownVisible ? 0.001F : 0.0F;
 
 			if (isUpVisible && !isSideBlocked(world, searchPos.setWithOffset(centerPos, Direction.UP), Direction.UP, Math.min(Math.min(centerNwHeight, southNwHeight), Math.min(southEastNwHeight, eastNwHeight)))) {
@@ -333,7 +344,7 @@ public class SimpleFluidModel implements FluidModel {
 		return isSideBlocked(world, direction, height, pos, world.getBlockState(pos));
 	}
 
-	private static float nwHeight(BlockGetter world, BlockPos.MutableBlockPos searchPos, Fluid fluid) {
+	static float nwHeight(BlockGetter world, BlockPos.MutableBlockPos searchPos, Fluid fluid) {
 		final long posIn = searchPos.asLong();
 
 		int w = 0;
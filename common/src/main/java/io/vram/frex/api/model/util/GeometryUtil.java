@@ -240,6 +240,23 @@ public abstract class GeometryUtil {
 		return x > y ? x : y;
 	}
 
+	/**
+	 * Area of the quad in model space, from half the cross product of its diagonals.
+	 * Exact for planar quads.
+	 */
+	public static float area(QuadView quad) {
+		final float ax = quad.x(2) - quad.x(0);
+		final float ay = quad.y(2) - quad.y(0);
+		final float az = quad.z(2) - quad.z(0);
+		final float bx = quad.x(3) - quad.x(1);
+		final float by = quad.y(3) - quad.y(1);
+		final float bz = quad.z(3) - quad.z(1);
+		final float cx = ay * bz - az * by;
+		final float cy = az * bx - ax * bz;
+		final float cz = ax * by - ay * bx;
+		return 0.5f * (float) Math.sqrt(cx * cx + cy * cy + cz * cz);
+	}
+
 	/**
 	 * @see #longestAxis(float, float, float)
 	 */
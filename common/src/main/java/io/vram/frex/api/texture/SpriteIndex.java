@@ -32,6 +32,18 @@ public interface SpriteIndex {
 
 	float mapV(int spriteId, float unmappedV);
 
+	/** Same as {@link TextureAtlasSprite#getU0()} for the sprite with the given id, without retrieving it. */
+	float u0(int spriteId);
+
+	/** Same as {@link TextureAtlasSprite#getV0()} for the sprite with the given id, without retrieving it. */
+	float v0(int spriteId);
+
+	/** Same as {@link TextureAtlasSprite#getU1()} for the sprite with the given id, without retrieving it. */
+	float u1(int spriteId);
+
+	/** Same as {@link TextureAtlasSprite#getV1()} for the sprite with the given id, without retrieving it. */
+	float v1(int spriteId);
+
 	int atlasWidth();
 
 	int atlasHeight();
@@ -0,0 +1,79 @@
+/*
+ * This file is part of FREX and is licensed to the project under
+ * terms that are compatible with the GNU Lesser General Public License.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership and licensing.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.vram.frex.api.texture;
+
+import java.util.BitSet;
+import it.unimi.dsi.fastutil.longs.LongIterable;
+import org.jetbrains.annotations.Nullable;
+import io.vram.frex.impl.texture.SpriteVisibilityImpl;
+import net.minecraft.client.renderer.texture.TextureAtlas;
+
+/**
+ * Records which sprites of the block atlas are referenced by built terrain
+ * sections and by items rendered since the last collection. Renderers can use
+ * this to skip animating sprites that aren't on screen.
+ *
+ * <p>Sprite ids are the ids of the block atlas {@link SpriteIndex}, and bit sets are
+ * indexed by sprite id. Sections are identified by the packed origin of the section,
+ * as from {@link net.minecraft.core.BlockPos#asLong()}.
+ *
+ * <p>Pastel feeds this from its terrain and item encoders. Other renderers that want to
+ * use it must feed it from their own.
+ */
+public interface SpriteVisibility {
+	/**
+	 * Replaces the sprites recorded for a section when it is rebuilt.
+	 * A null or empty set removes the section. The set is copied.
+	 */
+	void setSectionSprites(long sectionOrigin, @Nullable BitSet spriteIds);
+
+	/**
+	 * Sprites recorded for a section, or null if none. Do not modify the result.
+	 */
+	@Nullable BitSet sectionSprites(long sectionOrigin);
+
+	/** Call when a section's buffers are released or reused for a different origin. */
+	void removeSection(long sectionOrigin);
+
+	/** Records a sprite emitted outside of terrain, typically from an item. Thread-safe. */
+	void markFrameSprite(int spriteId);
+
+	/**
+	 * Adds to the target the sprites of every listed section plus every sprite marked
+	 * with {@link #markFrameSprite(int)} since the last call, then clears the frame sprites.
+	 * Intended to be called once per frame before animated textures are uploaded.
+	 *
+	 * @return the target, for convenience
+	 */
+	BitSet collectVisible(LongIterable visibleSectionOrigins, BitSet target);
+
+	/**
+	 * True if sprites of the given texture are tracked. Currently that is only the block atlas,
+	 * which holds the sprites of all block and item models.
+	 */
+	static boolean isTracked(MaterialTexture texture) {
+		return texture.id().equals(TextureAtlas.LOCATION_BLOCKS);
+	}
+
+	static SpriteVisibility get() {
+		return SpriteVisibilityImpl.INSTANCE;
+	}
+}
@@ -41,6 +41,45 @@ public interface RenderRegionBakeListener {
 		RenderRegionBakeListenerImpl.register(predicate, listener);
 	}
 
+	/**
+	 * Registers a listener that is only considered for regions at the given section positions,
+	 * encoded with {@link net.minecraft.core.SectionPos#asLong(int, int, int)}. Dispatch cost
+	 * does not grow with the number of listeners registered this way, so prefer this over
+	 * {@link #register(Predicate, RenderRegionBakeListener)} when the affected sections are
+	 * known in advance, as for multiblock structures or in-world screens.
+	 *
+	 * <p>Registration does not cause sections to rebuild. Callers should mark affected
+	 * sections dirty if they are already built.
+	 */
+	static void registerForSections(RenderRegionBakeListener listener, long... sectionPositions) {
+		RenderRegionBakeListenerImpl.registerForSections(listener, sectionPositions);
+	}
+
+	/**
+	 * Reverses {@link #registerForSections(RenderRegionBakeListener, long...)} for the given positions.
+	 */
+	static void unregisterForSections(RenderRegionBakeListener listener, long... sectionPositions) {
+		RenderRegionBakeListenerImpl.unregisterForSections(listener, sectionPositions);
+	}
+
+	/**
+	 * Registers a listener that is only considered for regions in chunks within the given
+	 * bounds (inclusive), at any height. Same behavior otherwise as
+	 * {@link #registerForSections(RenderRegionBakeListener, long...)}.
+	 *
+	 * @throws IllegalArgumentException if min exceeds max on either axis
+	 */
+	static void registerForChunks(RenderRegionBakeListener listener, int minChunkX, int minChunkZ, int maxChunkX, int maxChunkZ) {
+		RenderRegionBakeListenerImpl.registerForChunks(listener, minChunkX, minChunkZ, maxChunkX, maxChunkZ);
+	}
+
+	/**
+	 * Reverses {@link #registerForChunks(RenderRegionBakeListener, int, int, int, int)} for the given bounds.
+	 */
+	static void unregisterForChunks(RenderRegionBakeListener listener, int minChunkX, int minChunkZ, int maxChunkX, int maxChunkZ) {
+		RenderRegionBakeListenerImpl.unregisterForChunks(listener, minChunkX, minChunkZ, maxChunkX, maxChunkZ);
+	}
+
 	/**
 	 * For use by renderer implementations.  Implementations are responsible for providing a thread-safe list
 	 * instance and if populated, invoking all listeners in the list at the appropriate time. Renderer must
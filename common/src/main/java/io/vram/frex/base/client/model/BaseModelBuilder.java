@@ -34,6 +34,7 @@ import net.minecraft.client.resources.model.UnbakedModel;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.inventory.InventoryMenu;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import org.jetbrains.annotations.Nullable;
 import io.vram.frex.api.model.util.BakedModelUtil;
 
 /**
@@ -48,6 +49,9 @@ public abstract class BaseModelBuilder<T extends BaseModelBuilder<T>> implements
 	protected ItemTransforms itemTransforms = BakedModelUtil.MODEL_TRANSFORM_BLOCK;
 	protected ObjectArrayList<ResourceLocation> modelDependencies;
 	protected ObjectArrayList<Material> materials;
+	protected boolean parallelBake = false;
+	protected boolean lazyBake = false;
+	protected ResourceLocation modelLocation = null;
 	protected BakedModel result = null;
 
 	public T useAmbientOcclusion(boolean enable) {
@@ -115,6 +119,46 @@ public abstract class BaseModelBuilder<T extends BaseModelBuilder<T>> implements
 		return (T) this;
 	}
 
+	/**
+	 * When true, this model is baked on a worker thread together with other such
+	 * models just before vanilla bakes the rest, so that mesh factories of content-heavy
+	 * mods run in parallel. Mesh factories must then be thread-safe, and
+	 * {@link #bakeOnce(ModelBaker, Function, ModelState)} must not use the baker, which will be null.
+	 */
+	public T parallelBake(boolean enable) {
+		parallelBake = enable;
+		return (T) this;
+	}
+
+	public boolean isParallelBake() {
+		return parallelBake;
+	}
+
+	/**
+	 * When true, baking returns a {@link LazyBakedModel} that bakes the real model
+	 * on first use, or when warmed with {@link LazyBakedModel#warm(Iterable)}.
+	 * Saves load time and memory for content that is never seen. Mesh factories
+	 * must then be thread-safe, and {@link #bakeOnce(ModelBaker, Function, ModelState)}
+	 * must not use the baker, which will be null.
+	 */
+	public T lazyBake(boolean enable) {
+		lazyBake = enable;
+		return (T) this;
+	}
+
+	/**
+	 * Location reported when baking this model fails after loading, as lazy bakes can.
+	 * Set automatically to the first location the builder is loaded for if not set here.
+	 */
+	public T modelLocation(ResourceLocation location) {
+		modelLocation = location;
+		return (T) this;
+	}
+
+	public @Nullable ResourceLocation modelLocation() {
+		return modelLocation;
+	}
+
 	@Override
 	public Collection<ResourceLocation> getDependencies() {
 		return modelDependencies == null ? Collections.emptyList() : modelDependencies;
@@ -132,7 +176,7 @@ public abstract class BaseModelBuilder<T extends BaseModelBuilder<T>> implements
 		var result = this.result;
 
 		if (result == null) {
-			result = bakeOnce(baker, spriteFunc, modelState);
+			result = lazyBake ? new LazyBakedModel(this, spriteFunc, sprites -> bakeOnce(null, sprites, modelState)) : bakeOnce(baker, spriteFunc, modelState);
 			this.result = result;
 		}
 
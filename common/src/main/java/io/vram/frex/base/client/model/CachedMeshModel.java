@@ -20,12 +20,13 @@
 
 package io.vram.frex.base.client.model;
 
-import java.lang.ref.WeakReference;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.IntStream;
 import net.minecraft.client.renderer.block.model.BakedQuad;
 import net.minecraft.client.renderer.block.model.BlockModel;
 import net.minecraft.client.renderer.texture.TextureAtlasSprite;
@@ -51,8 +52,19 @@ import io.vram.frex.impl.FrexLog;
 public class CachedMeshModel extends BaseModel {
 	protected final Int2ObjectFunction<Mesh> meshFactory;
 	protected final int keyCount;
-	protected final Mesh[] meshes;
-	protected final WeakReference<List<BakedQuad>[]>[] quadLists;
+	/**
+	 * Meshes and vanilla quad lists live in the shared {@link ModelCache} so that
+	 * rarely-used keys do not hold memory forever. Each is built at most once per
+	 * fill even when builder threads race, and rebuilt if evicted. Slots are created
+	 * on first use of each key.
+	 */
+	protected final AtomicReferenceArray<ModelCache.Slot<Mesh>> meshes;
+	protected final AtomicReferenceArray<ModelCache.Slot<List<BakedQuad>[]>> quadLists;
+	/** Mesh factory and slots for each registered level of detail, or null. Level zero is {@link #meshes}. */
+	protected final Int2ObjectFunction<Mesh>[] lodMeshFactories;
+	protected final AtomicReferenceArray<ModelCache.Slot<Mesh>>[] lodMeshes;
+	/** Registered level to use for each requested level of detail. */
+	protected final int[] lodLevels = new int[BlockInputContext.MAX_LOD + 1];
 	protected final BlockKeyFunction blockKeyFunction;
 	protected final ItemKeyFunction itemKeyFunction;
 	protected final VanillaKeyFunction vanillaKeyFunction;
@@ -64,35 +76,55 @@ public class CachedMeshModel extends BaseModel {
 		super(builder, spriteFunc);
 		meshFactory = builder.meshFactory;
 		keyCount = builder.keyCount;
-		meshes = new Mesh[keyCount];
-		quadLists = new WeakReference[keyCount];
+		meshes = new AtomicReferenceArray<>(keyCount);
+		quadLists = new AtomicReferenceArray<>(keyCount);
+		lodMeshFactories = builder.lodMeshFactories.clone();
+		lodMeshFactories[0] = meshFactory;
+		lodMeshes = new AtomicReferenceArray[BlockInputContext.MAX_LOD + 1];
+		lodMeshes[0] = meshes;
+
+		for (int lod = 1; lod <= BlockInputContext.MAX_LOD; ++lod) {
+			if (lodMeshFactories[lod] == null) {
+				lodLevels[lod] = lodLevels[lod - 1];
+			} else {
+				lodLevels[lod] = lod;
+				lodMeshes[lod] = new AtomicReferenceArray<>(keyCount);
+			}
+		}
+
 		blockKeyFunction = builder.blockKeyFunction;
 		itemKeyFunction = builder.itemKeyFunction;
 		vanillaKeyFunction = builder.vanillaKeyFunction;
+
+		if (builder.prebake) {
+			IntStream.range(0, keyCount).parallel().forEach(this::getMesh);
+		}
 	}
 
 	protected Mesh getMesh(int key) {
+		return getMesh(key, 0);
+	}
+
+	/** Level must be zero or a level with a registered mesh factory. */
+	protected Mesh getMesh(int key, int lod) {
 		if (key < 0 || key >= keyCount) {
 			if (shouldWarn) {
 				shouldWarn = false;
 				FrexLog.LOG.warn("Invalid key result in CachedMeshModel " + label +". Subsequent errors will be supressed", new Throwable());
-				return Mesh.EMPTY;
 			}
-		}
 
-		Mesh result = meshes[key];
-
-		if (result == null) {
-			result = meshFactory.apply(key);
-			meshes[key] = result;
+			return Mesh.EMPTY;
 		}
 
-		return result;
+		return ModelCache.slot(lodMeshes[lod], key, ModelCache::meshBytes).get(() -> {
+			final Mesh mesh = lodMeshFactories[lod].apply(key);
+			return mesh == null ? Mesh.EMPTY : mesh;
+		});
 	}
 
 	@Override
 	public void renderAsBlock(BlockInputContext input, QuadSink output) {
-		getMesh(blockKeyFunction.computeKey(input)).outputTo(output);
+		getMesh(blockKeyFunction.computeKey(input), lodLevels[input.lod()]).outputTo(output);
 	}
 
 	@Override
@@ -108,18 +140,12 @@ public class CachedMeshModel extends BaseModel {
 			if (shouldWarn) {
 				shouldWarn = false;
 				FrexLog.LOG.warn("Invalid key result in DynamicModel " + label +". Subsequent errors will be supressed", new Throwable());
-				return ImmutableList.of();
 			}
-		}
-
-		final WeakReference<List<BakedQuad>[]> listReference = quadLists[key];
-		List<BakedQuad>[] lists = listReference == null ? null : listReference.get();
 
-		if (lists == null) {
-			lists = BakedModelUtil.toQuadLists(getMesh(key));
-			quadLists[key] = new WeakReference<>(lists);
+			return ImmutableList.of();
 		}
 
+		final List<BakedQuad>[] lists = ModelCache.slot(quadLists, key, ModelCache::quadListBytes).get(() -> BakedModelUtil.toQuadLists(getMesh(key)));
 		final List<BakedQuad> result = lists[face == null ? 6 : face.get3DDataValue()];
 		return result == null ? ImmutableList.of() : result;
 	}
@@ -134,6 +160,9 @@ public class CachedMeshModel extends BaseModel {
 		protected BlockKeyFunction blockKeyFunction = c -> 0;
 		protected ItemKeyFunction itemKeyFunction = c -> 0;
 		protected VanillaKeyFunction vanillaKeyFunction = (b, r) -> 0;
+		protected boolean prebake = false;
+		@SuppressWarnings("unchecked")
+		protected final Int2ObjectFunction<Mesh>[] lodMeshFactories = new Int2ObjectFunction[BlockInputContext.MAX_LOD + 1];
 
 		public Builder keyCount(int keyCount) {
 			Preconditions.checkArgument(keyCount >= 0);
@@ -166,6 +195,29 @@ public class CachedMeshModel extends BaseModel {
 			return this;
 		}
 
+		/**
+		 * Registers coarser meshes for terrain rendered at the given level of detail
+		 * and beyond, until a coarser level is registered. Keys are the same as for
+		 * {@link #meshFactory(Int2ObjectFunction)}, which serves level zero.
+		 */
+		public Builder lodMeshFactory(int lod, Int2ObjectFunction<Mesh> lodMeshFactory) {
+			Preconditions.checkArgument(lod > 0 && lod <= BlockInputContext.MAX_LOD);
+			Preconditions.checkNotNull(lodMeshFactory);
+			lodMeshFactories[lod] = lodMeshFactory;
+			return this;
+		}
+
+		/**
+		 * When true, meshes for every key are built in parallel when the model is baked
+		 * instead of on first use. Avoids a burst of mesh building during the first
+		 * chunk rebuilds but costs load time for keys that are never used. Prebaked
+		 * meshes are subject to {@link ModelCache} eviction like any other.
+		 */
+		public Builder prebake(boolean prebake) {
+			this.prebake = prebake;
+			return this;
+		}
+
 		@Override
 		public BakedModel bakeOnce(ModelBaker baker, Function<Material, TextureAtlasSprite> spriteFunc, ModelState modelState) {
 			return new CachedMeshModel(this, spriteFunc);
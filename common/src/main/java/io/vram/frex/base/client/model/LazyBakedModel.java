@@ -0,0 +1,144 @@
+/*
+ * This file is part of FREX and is licensed to the project under
+ * terms that are compatible with the GNU Lesser General Public License.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership and licensing.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.vram.frex.base.client.model;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import net.minecraft.Util;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.renderer.block.model.BakedQuad;
+import net.minecraft.client.renderer.texture.MissingTextureAtlasSprite;
+import net.minecraft.client.renderer.texture.TextureAtlasSprite;
+import net.minecraft.client.resources.model.BakedModel;
+import net.minecraft.client.resources.model.Material;
+import net.minecraft.core.Direction;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.util.RandomSource;
+import net.minecraft.world.level.block.state.BlockState;
+import org.jetbrains.annotations.Nullable;
+import io.vram.frex.api.buffer.QuadSink;
+import io.vram.frex.api.model.BlockModel;
+import io.vram.frex.api.model.ItemModel;
+import io.vram.frex.impl.FrexLog;
+
+/**
+ * Stands in for a model built with {@link BaseModelBuilder#lazyBake(boolean)}.
+ * Properties that come straight from the builder are answered without baking,
+ * and the real model - with all of its meshes - is baked on first render or
+ * {@link #getQuads(BlockState, Direction, RandomSource)} call, or when warmed.
+ *
+ * <p>Loading has finished by then, so sprites are resolved from the live atlases
+ * rather than vanilla's bake-time getter, which is not thread-safe and would keep
+ * the reload's stitch results reachable. Missing sprites are logged here because
+ * vanilla's missing texture report has already run.
+ */
+public class LazyBakedModel extends BaseModel {
+	protected final Function<Function<Material, TextureAtlasSprite>, BakedModel> bakeFunc;
+	protected final @Nullable ResourceLocation modelLocation;
+	protected volatile BakedModel delegate;
+
+	/**
+	 * The given sprite function is only used while loading, for properties answered
+	 * without baking. The bake function receives a function that reads the live atlases.
+	 */
+	protected LazyBakedModel(BaseModelBuilder<?> builder, Function<Material, TextureAtlasSprite> spriteFunc, Function<Function<Material, TextureAtlasSprite>, BakedModel> bakeFunc) {
+		super(builder, spriteFunc);
+		this.bakeFunc = bakeFunc;
+		modelLocation = builder.modelLocation();
+	}
+
+	/** Resolves sprites from the atlases uploaded by the last reload. Safe on any thread once loading is done. */
+	protected TextureAtlasSprite liveSprite(Material material) {
+		final TextureAtlasSprite result = Minecraft.getInstance().getModelManager().getAtlas(material.atlasLocation()).getSprite(material.texture());
+
+		if (result.contents().name().equals(MissingTextureAtlasSprite.getLocation()) && !material.texture().equals(MissingTextureAtlasSprite.getLocation())) {
+			FrexLog.warn("Missing texture " + material.texture() + " in lazy model " + modelLocation);
+		}
+
+		return result;
+	}
+
+	public boolean isBaked() {
+		return delegate != null;
+	}
+
+	/**
+	 * Bakes the real model if not already done and returns it. Thread-safe.
+	 * A bake that fails is logged once and replaced by an empty model.
+	 */
+	public BakedModel delegate() {
+		BakedModel result = delegate;
+
+		if (result == null) {
+			synchronized (this) {
+				result = delegate;
+
+				if (result == null) {
+					try {
+						result = bakeFunc.apply(this::liveSprite);
+					} catch (final Exception e) {
+						FrexLog.LOG.error("Unable to bake lazy model " + modelLocation, e);
+						result = new StaticMeshModel(StaticMeshModel.builder(MeshFactory.EMPTY), this::liveSprite);
+					}
+
+					delegate = result;
+				}
+			}
+		}
+
+		return result;
+	}
+
+	@Override
+	public void renderAsBlock(BlockInputContext input, QuadSink output) {
+		((BlockModel) delegate()).renderAsBlock(input, output);
+	}
+
+	@Override
+	public void renderAsItem(ItemInputContext input, QuadSink output) {
+		((ItemModel) delegate()).renderAsItem(input, output);
+	}
+
+	@Override
+	public List<BakedQuad> getQuads(BlockState blockState, Direction face, RandomSource random) {
+		return delegate().getQuads(blockState, face, random);
+	}
+
+	/**
+	 * Bakes the given models on the background executor so they are ready before
+	 * first use. Models that are not lazy or are already baked are ignored.
+	 * Call only after resource loading completes, so the live atlases are current.
+	 */
+	public static CompletableFuture<Void> warm(Iterable<? extends BakedModel> models) {
+		return CompletableFuture.runAsync(() -> {
+			for (final BakedModel model : models) {
+				if (model instanceof final LazyBakedModel lazy && !lazy.isBaked()) {
+					lazy.delegate();
+				}
+			}
+		}, Util.backgroundExecutor());
+	}
+
+	public static CompletableFuture<Void> warm(BakedModel... models) {
+		return warm(List.of(models));
+	}
+}
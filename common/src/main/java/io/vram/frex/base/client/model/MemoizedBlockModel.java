@@ -0,0 +1,135 @@
+/*
+ * This file is part of FREX and is licensed to the project under
+ * terms that are compatible with the GNU Lesser General Public License.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership and licensing.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.vram.frex.base.client.model;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import net.minecraft.world.level.block.Block;
+import org.spongepowered.include.com.google.common.base.Preconditions;
+import io.vram.frex.api.buffer.QuadEmitter;
+import io.vram.frex.api.buffer.QuadSink;
+import io.vram.frex.api.mesh.Mesh;
+import io.vram.frex.api.mesh.MeshBuilder;
+import io.vram.frex.api.model.BlockModel;
+import io.vram.frex.api.renderer.Renderer;
+
+/**
+ * Wraps a procedural {@link BlockModel} so that output for a given key is generated
+ * once and replayed as a {@link Mesh} afterwards. On a miss the wrapped model renders
+ * into a mesh builder, which supports the full {@link QuadSink} API including
+ * transforms, and the recorded mesh is then sent to the real output.
+ *
+ * <p>The key must capture everything the wrapped model's output depends on -
+ * block state, level of detail, block entity render data, random draws, results of
+ * {@link BlockInputContext#cullTest(int)} if the model checks them itself, and so on.
+ * Culling on the cull face of each quad is still done by the real output on replay.
+ *
+ * <p>At most {@code maxKeys} keys are tracked. Lookups don't lock; when the limit is
+ * exceeded, keys not rendered recently are dropped in a second-chance sweep.
+ * Recorded meshes are held in the {@link ModelCache} byte budget.
+ */
+public class MemoizedBlockModel implements BlockModel {
+	protected final BlockModel wrapped;
+	protected final KeyFunction keyFunction;
+	protected final ConcurrentHashMap<Long, Entry> meshes = new ConcurrentHashMap<>();
+	protected final int maxKeys;
+	private final Object trimLock = new Object();
+
+	protected MemoizedBlockModel(BlockModel wrapped, KeyFunction keyFunction, int maxKeys) {
+		this.wrapped = wrapped;
+		this.keyFunction = keyFunction;
+		this.maxKeys = maxKeys;
+	}
+
+	@Override
+	public void renderAsBlock(BlockInputContext input, QuadSink output) {
+		final long key = keyFunction.computeKey(input);
+		Entry entry = meshes.get(key);
+
+		if (entry == null) {
+			entry = meshes.computeIfAbsent(key, k -> new Entry());
+
+			if (meshes.size() > maxKeys) {
+				trim();
+			}
+		} else if (!entry.referenced) {
+			entry.referenced = true;
+		}
+
+		entry.slot.get(() -> record(input)).outputTo(output.asQuadEmitter());
+	}
+
+	/**
+	 * Second-chance sweep that drops keys not rendered since the last sweep until an
+	 * eighth of the limit is free, so the next trim is not on the very next miss.
+	 * Dropped slots are discarded from the {@link ModelCache} right away.
+	 */
+	private void trim() {
+		synchronized (trimLock) {
+			final int target = maxKeys - maxKeys / 8;
+
+			for (int pass = 0; pass < 2 && meshes.size() > target; ++pass) {
+				final Iterator<Entry> it = meshes.values().iterator();
+
+				while (it.hasNext() && meshes.size() > target) {
+					final Entry entry = it.next();
+
+					if (entry.referenced) {
+						entry.referenced = false;
+					} else {
+						it.remove();
+						ModelCache.discard(entry.slot);
+					}
+				}
+			}
+		}
+	}
+
+	protected Mesh record(BlockInputContext input) {
+		final MeshBuilder builder = Renderer.get().meshBuilder();
+		final QuadEmitter emitter = builder.getEmitter();
+		wrapped.renderAsBlock(input, emitter);
+		return builder.build();
+	}
+
+	public static MemoizedBlockModel of(BlockModel wrapped, KeyFunction keyFunction, int maxKeys) {
+		Preconditions.checkNotNull(wrapped);
+		Preconditions.checkNotNull(keyFunction);
+		Preconditions.checkArgument(maxKeys > 0);
+		return new MemoizedBlockModel(wrapped, keyFunction, maxKeys);
+	}
+
+	/** Key function for models whose output depends only on block state and level of detail. */
+	public static KeyFunction blockStateKey() {
+		return input -> (long) Block.getId(input.blockState()) << 2 | input.lod();
+	}
+
+	protected static class Entry {
+		protected final ModelCache.Slot<Mesh> slot = new ModelCache.Slot<>(ModelCache::meshBytes);
+		// new keys survive the first sweep that sees them
+		protected volatile boolean referenced = true;
+	}
+
+	@FunctionalInterface
+	public interface KeyFunction {
+		long computeKey(BlockInputContext input);
+	}
+}
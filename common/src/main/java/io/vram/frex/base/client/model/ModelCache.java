@@ -0,0 +1,242 @@
+/*
+ * This file is part of FREX and is licensed to the project under
+ * terms that are compatible with the GNU Lesser General Public License.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership and licensing.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.vram.frex.base.client.model;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+import net.minecraft.client.renderer.block.model.BakedQuad;
+import io.vram.frex.api.mesh.Mesh;
+import io.vram.frex.base.renderer.mesh.BaseMesh;
+import io.vram.frex.base.renderer.mesh.MeshEncodingHelper;
+
+/**
+ * Shared, memory-budgeted home for data that models build lazily and can rebuild
+ * on demand - meshes for rarely-seen keys, vanilla quad lists, etc.
+ *
+ * <p>Models own one {@link Slot} per cached value. Filled slots are tracked in a
+ * single clock (second-chance) queue and the least recently used are emptied once
+ * the total estimated size exceeds {@link #budgetBytes()}. Sizes are estimated from
+ * the encoded vertex data, which dominates the footprint of every cached type.
+ *
+ * <p>The cache is cleared when models are baked, so slots of models discarded by a
+ * resource reload do not keep their values reachable afterwards.
+ */
+public final class ModelCache {
+	private ModelCache() { }
+
+	/** Rough per-quad object overhead for {@link BakedQuad} instances and list entries. */
+	private static final int BAKED_QUAD_OVERHEAD_BYTES = 48;
+
+	private static final ArrayDeque<Slot<?>> CLOCK = new ArrayDeque<>();
+	private static long budgetBytes = 64L * 1024 * 1024;
+	private static long usedBytes;
+	/** Discarded slots still in {@link #CLOCK}. They are skipped by the hand and compacted out in bulk. */
+	private static int discardedCount;
+
+	public static synchronized long budgetBytes() {
+		return budgetBytes;
+	}
+
+	/**
+	 * Changes the global budget. Takes effect immediately - shrinking the
+	 * budget evicts until the cache fits.
+	 */
+	public static synchronized void budgetBytes(long budgetBytes) {
+		ModelCache.budgetBytes = Math.max(0, budgetBytes);
+		evictOverBudget();
+	}
+
+	public static synchronized long usedBytes() {
+		return usedBytes;
+	}
+
+	/** Empties every slot. */
+	public static synchronized void clear() {
+		for (final Slot<?> slot : CLOCK) {
+			slot.admitted = false;
+			slot.evict();
+		}
+
+		CLOCK.clear();
+		usedBytes = 0;
+		discardedCount = 0;
+	}
+
+	/**
+	 * Empties a slot that its owner will not use again and releases its share of the
+	 * budget now, instead of when the clock hand reaches it. Later reads of the slot
+	 * still work but build a new value each time.
+	 */
+	public static synchronized void discard(Slot<?> slot) {
+		if (slot.discarded) {
+			return;
+		}
+
+		slot.discarded = true;
+
+		if (slot.admitted) {
+			slot.admitted = false;
+			usedBytes -= slot.bytes;
+			slot.evict();
+
+			if (++discardedCount > 64 && discardedCount > CLOCK.size() / 2) {
+				CLOCK.removeIf(s -> s.discarded);
+				discardedCount = 0;
+			}
+		}
+	}
+
+	/**
+	 * Slot for the given index, created on first access. Lets models with many keys
+	 * avoid allocating slots for keys that are never used.
+	 */
+	public static <T> Slot<T> slot(AtomicReferenceArray<Slot<T>> slots, int index, ToLongFunction<T> sizer) {
+		Slot<T> result = slots.get(index);
+
+		if (result == null) {
+			final Slot<T> created = new Slot<>(sizer);
+			result = slots.compareAndExchange(index, null, created);
+
+			if (result == null) {
+				result = created;
+			}
+		}
+
+		return result;
+	}
+
+	private static synchronized void admit(Slot<?> slot) {
+		if (slot.discarded) {
+			slot.evict();
+			return;
+		}
+
+		slot.admitted = true;
+		CLOCK.addLast(slot);
+		usedBytes += slot.bytes;
+		evictOverBudget();
+	}
+
+	private static void evictOverBudget() {
+		while (usedBytes > budgetBytes && !CLOCK.isEmpty()) {
+			final Slot<?> slot = CLOCK.pollFirst();
+
+			if (!slot.admitted) {
+				// discarded, budget already released
+				--discardedCount;
+				continue;
+			}
+
+			// second chance for anything read since the hand last passed
+			if (slot.referenced && CLOCK.size() > 0) {
+				slot.referenced = false;
+				CLOCK.addLast(slot);
+			} else {
+				usedBytes -= slot.bytes;
+				slot.admitted = false;
+				slot.evict();
+			}
+		}
+	}
+
+	public static long meshBytes(Mesh mesh) {
+		if (mesh instanceof final BaseMesh baseMesh) {
+			return baseMesh.data().length * 4L;
+		}
+
+		final long[] quadCount = new long[1];
+		mesh.forEach(q -> ++quadCount[0]);
+		return quadCount[0] * MeshEncodingHelper.TOTAL_MESH_QUAD_STRIDE * 4L;
+	}
+
+	public static long meshArrayBytes(Mesh[] meshes) {
+		long result = 0;
+
+		for (final Mesh mesh : meshes) {
+			if (mesh != null) {
+				result += meshBytes(mesh);
+			}
+		}
+
+		return result;
+	}
+
+	public static long quadListBytes(List<BakedQuad>[] lists) {
+		long result = 0;
+
+		for (final List<BakedQuad> list : lists) {
+			if (list != null) {
+				for (final BakedQuad quad : list) {
+					result += quad.getVertices().length * 4L + BAKED_QUAD_OVERHEAD_BYTES;
+				}
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * Holds one lazily-built value. Reads do not lock. A value is built
+	 * at most once per fill, even when several threads miss at the same time.
+	 */
+	public static final class Slot<T> {
+		private final ToLongFunction<T> sizer;
+		private volatile T value;
+		private volatile boolean referenced;
+		private volatile boolean discarded;
+		/** True while counted in the budget and queued in the clock. Guarded by the cache lock. */
+		private boolean admitted;
+		private long bytes;
+
+		public Slot(ToLongFunction<T> sizer) {
+			this.sizer = sizer;
+		}
+
+		public T get(Supplier<T> factory) {
+			T result = value;
+
+			if (result == null) {
+				synchronized (this) {
+					result = value;
+
+					if (result == null) {
+						result = factory.get();
+						bytes = sizer.applyAsLong(result);
+						value = result;
+						admit(this);
+					}
+				}
+			} else if (!referenced) {
+				referenced = true;
+			}
+
+			return result;
+		}
+
+		private void evict() {
+			value = null;
+			referenced = false;
+		}
+	}
+}
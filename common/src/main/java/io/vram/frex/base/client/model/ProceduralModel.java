@@ -20,7 +20,6 @@
 
 package io.vram.frex.base.client.model;
 
-import java.lang.ref.WeakReference;
 import java.util.List;
 import java.util.Map;
 import java.util.function.BiFunction;
@@ -50,7 +49,7 @@ public class ProceduralModel extends BaseModel {
 	protected final BlockModel blockModel;
 	protected final ItemModel itemModel;
 	protected final MeshFactory defaultMeshFactory;
-	protected WeakReference<List<BakedQuad>[]> quadLists = null;
+	protected final ModelCache.Slot<List<BakedQuad>[]> quadLists = new ModelCache.Slot<>(ModelCache::quadListBytes);
 	protected boolean shouldWarn = true;
 	protected String label;
 
@@ -73,14 +72,7 @@ public class ProceduralModel extends BaseModel {
 
 	@Override
 	public List<BakedQuad> getQuads(BlockState blockState, Direction face, RandomSource random) {
-		final WeakReference<List<BakedQuad>[]> listReference = quadLists;
-		List<BakedQuad>[] lists = listReference == null ? null : listReference.get();
-
-		if (lists == null) {
-			lists = BakedModelUtil.toQuadLists(defaultMeshFactory.createMesh(SpriteProvider.forBlocksAndItems()));
-			quadLists = new WeakReference<>(lists);
-		}
-
+		final List<BakedQuad>[] lists = quadLists.get(() -> BakedModelUtil.toQuadLists(defaultMeshFactory.createMesh(SpriteProvider.forBlocksAndItems())));
 		final List<BakedQuad> result = lists[face == null ? 6 : face.get3DDataValue()];
 		return result == null ? ImmutableList.of() : result;
 	}
@@ -20,7 +20,6 @@
 
 package io.vram.frex.base.client.model;
 
-import java.lang.ref.WeakReference;
 import java.util.List;
 import java.util.Map;
 import java.util.function.BiFunction;
@@ -40,6 +39,7 @@ import net.minecraft.util.RandomSource;
 import net.minecraft.world.inventory.InventoryMenu;
 import net.minecraft.world.level.block.state.BlockState;
 import com.google.common.collect.ImmutableList;
+import org.spongepowered.include.com.google.common.base.Preconditions;
 import io.vram.frex.api.buffer.QuadSink;
 import io.vram.frex.api.material.MaterialFinder;
 import io.vram.frex.api.material.RenderMaterial;
@@ -49,17 +49,26 @@ import io.vram.frex.api.model.provider.ModelProviderRegistry;
 import io.vram.frex.api.model.util.BakedModelUtil;
 
 public class StaticMeshModel extends BaseModel {
-	protected WeakReference<List<BakedQuad>[]> quadLists = null;
+	protected final ModelCache.Slot<List<BakedQuad>[]> quadLists = new ModelCache.Slot<>(ModelCache::quadListBytes);
 	protected final Mesh mesh;
+	/** Mesh for each level of detail, falling back to the next finer level where none was registered. */
+	protected final Mesh[] lodMeshes = new Mesh[BlockInputContext.MAX_LOD + 1];
 
 	protected StaticMeshModel(Builder builder, Function<Material, TextureAtlasSprite> spriteFunc) {
 		super(builder, spriteFunc);
-		mesh = builder.meshFactory.createMesh(n -> spriteFunc.apply(new Material(InventoryMenu.BLOCK_ATLAS, n)));
+		final SpriteProvider spriteProvider = n -> spriteFunc.apply(new Material(InventoryMenu.BLOCK_ATLAS, n));
+		mesh = builder.meshFactory.createMesh(spriteProvider);
+		lodMeshes[0] = mesh;
+
+		for (int lod = 1; lod <= BlockInputContext.MAX_LOD; ++lod) {
+			final MeshFactory lodFactory = builder.lodMeshFactories[lod];
+			lodMeshes[lod] = lodFactory == null ? lodMeshes[lod - 1] : lodFactory.createMesh(spriteProvider);
+		}
 	}
 
 	@Override
 	public void renderAsBlock(BlockInputContext input, QuadSink output) {
-		mesh.outputTo(output.asQuadEmitter());
+		lodMeshes[input.lod()].outputTo(output.asQuadEmitter());
 	}
 
 	@Override
@@ -69,13 +78,7 @@ public class StaticMeshModel extends BaseModel {
 
 	@Override
 	public List<BakedQuad> getQuads(BlockState blockState, Direction face, RandomSource random) {
-		List<BakedQuad>[] lists = quadLists == null ? null : quadLists.get();
-
-		if (lists == null) {
-			lists = BakedModelUtil.toQuadLists(mesh);
-			quadLists = new WeakReference<>(lists);
-		}
-
+		final List<BakedQuad>[] lists = quadLists.get(() -> BakedModelUtil.toQuadLists(mesh));
 		final List<BakedQuad> result = lists[face == null ? 6 : face.get3DDataValue()];
 		return result == null ? ImmutableList.of() : result;
 	}
@@ -86,11 +89,23 @@ public class StaticMeshModel extends BaseModel {
 
 	public static class Builder extends BaseModelBuilder<Builder> {
 		protected final MeshFactory meshFactory;
+		protected final MeshFactory[] lodMeshFactories = new MeshFactory[BlockInputContext.MAX_LOD + 1];
 
 		protected Builder(MeshFactory meshFactory) {
 			this.meshFactory = meshFactory;
 		}
 
+		/**
+		 * Registers a coarser mesh for terrain rendered at the given level of detail
+		 * and beyond, until a coarser level is registered. Level zero is the main mesh.
+		 */
+		public Builder lodMeshFactory(int lod, MeshFactory lodMeshFactory) {
+			Preconditions.checkArgument(lod > 0 && lod <= BlockInputContext.MAX_LOD);
+			Preconditions.checkNotNull(lodMeshFactory);
+			lodMeshFactories[lod] = lodMeshFactory;
+			return this;
+		}
+
 		@Override
 		public BakedModel bakeOnce(ModelBaker baker, Function<Material, TextureAtlasSprite> spriteFunc, ModelState modelState) {
 			return new StaticMeshModel(this, spriteFunc);
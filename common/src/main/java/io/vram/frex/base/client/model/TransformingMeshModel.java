@@ -20,7 +20,6 @@
 
 package io.vram.frex.base.client.model;
 
-import java.lang.ref.WeakReference;
 import java.util.List;
 import java.util.Map;
 import java.util.function.BiFunction;
@@ -54,7 +53,7 @@ import io.vram.frex.api.model.util.BakedModelUtil;
 import io.vram.frex.impl.model.ModelProviderRegistryImpl;
 
 public class TransformingMeshModel extends BaseModel {
-	protected WeakReference<List<BakedQuad>[]> quadLists = null;
+	protected final ModelCache.Slot<List<BakedQuad>[]> quadLists = new ModelCache.Slot<>(ModelCache::quadListBytes);
 	protected final Mesh mesh;
 	protected final QuadTransform transform;
 
@@ -82,13 +81,7 @@ public class TransformingMeshModel extends BaseModel {
 
 	@Override
 	public List<BakedQuad> getQuads(BlockState blockState, Direction face, RandomSource random) {
-		List<BakedQuad>[] lists = quadLists == null ? null : quadLists.get();
-
-		if (lists == null) {
-			lists = BakedModelUtil.toQuadLists(mesh);
-			quadLists = new WeakReference<>(lists);
-		}
-
+		final List<BakedQuad>[] lists = quadLists.get(() -> BakedModelUtil.toQuadLists(mesh));
 		final List<BakedQuad> result = lists[face == null ? 6 : face.get3DDataValue()];
 		return result == null ? ImmutableList.of() : result;
 	}
@@ -25,6 +25,8 @@ import static io.vram.frex.api.model.util.GeometryUtil.CUBIC_FLAG;
 import static io.vram.frex.api.model.util.GeometryUtil.LIGHT_FACE_FLAG;
 import static io.vram.frex.base.renderer.ao.AoFaceData.OPAQUE;
 
+import java.util.Arrays;
+import it.unimi.dsi.fastutil.HashCommon;
 import io.vram.frex.api.math.FixedMath255;
 import io.vram.frex.api.math.PackedSectionPos;
 import io.vram.frex.api.math.PackedVector3f;
@@ -45,6 +47,15 @@ public abstract class AoCalculator {
 	protected static final int BLEND_CACHE_ARRAY_SIZE = BLEND_CACHE_DEPTH * 6;
 	protected static final int BLEND_INDEX_NO_DEPTH = -1;
 	protected static final int BLEND_INDEX_FULL_DEPTH = BLEND_CACHE_DIVISION - 1;
+
+	/**
+	 * Number of slots in the section-scoped blend cache. Must be a power of two.
+	 * Large enough that the blends for a typical section of inset geometry
+	 * (slabs, stairs, paths, etc.) rarely collide.
+	 */
+	protected static final int SECTION_BLEND_CACHE_SIZE = 4096;
+	protected static final int SECTION_BLEND_CACHE_MASK = SECTION_BLEND_CACHE_SIZE - 1;
+
 	protected static final int UP = Direction.UP.ordinal();
 	protected static final int DOWN = Direction.DOWN.ordinal();
 	protected static final int EAST = Direction.EAST.ordinal();
@@ -52,15 +63,27 @@ public abstract class AoCalculator {
 	protected static final int NORTH = Direction.NORTH.ordinal();
 	protected static final int SOUTH = Direction.SOUTH.ordinal();
 
-	protected final AoFaceCalc[] blendCache = new AoFaceCalc[BLEND_CACHE_ARRAY_SIZE];
+	/**
+	 * Blend results, direct-mapped by a hash of (packed section pos, face, depth index).
+	 * An entry is valid only if its key matches and its generation equals {@link #blendGeneration}.
+	 */
+	protected final AoFaceCalc[] blendCache = new AoFaceCalc[SECTION_BLEND_CACHE_SIZE];
+	protected final int[] blendCacheKeys = new int[SECTION_BLEND_CACHE_SIZE];
+	protected final int[] blendCacheGenerations = new int[SECTION_BLEND_CACHE_SIZE];
 
 	/**
 	 * Caches results of {@link #gatherFace(Direction, boolean)} for the current block.
 	 */
 	protected final AoFaceData[] faceData = new AoFaceData[12];
 
-	protected long blendCacheCompletionLowFlags;
-	protected long blendCacheCompletionHighFlags;
+	/**
+	 * Incremented to invalidate every entry in {@link #blendCache} at once.
+	 * When section-scoped, this happens once per section, otherwise once per block.
+	 */
+	protected int blendGeneration = 0;
+	protected boolean isSectionScoped = false;
+	protected long blendCacheHits;
+	protected long blendCacheMisses;
 	protected int targetSectionPos;
 	protected int targetCacheIndex;
 
@@ -74,9 +97,11 @@ public abstract class AoCalculator {
 			faceData[i] = new AoFaceData();
 		}
 
-		for (int i = 0; i < BLEND_CACHE_ARRAY_SIZE; i++) {
+		for (int i = 0; i < SECTION_BLEND_CACHE_SIZE; i++) {
 			blendCache[i] = new AoFaceCalc();
 		}
+
+		nextBlendGeneration();
 	}
 
 	static int blendIndex(int face, float depth) {
@@ -93,28 +118,49 @@ public abstract class AoCalculator {
 
 	protected abstract int cacheIndexFromSectionIndex(int packedSectionIndex);
 
-	private boolean checkBlendDirty(int blendIndex) {
-		if (blendIndex < 64) {
-			final long mask = 1L << blendIndex;
+	static int blendKey(int packedSectionPos, int blendIndex) {
+		return (packedSectionPos << 7) | blendIndex;
+	}
 
-			if ((blendCacheCompletionLowFlags & mask) == 0) {
-				blendCacheCompletionLowFlags |= mask;
-				return true;
-			} else {
-				return false;
-			}
-		} else {
-			final long mask = 1L << (blendIndex - 64);
+	static int blendSlot(int blendKey) {
+		return HashCommon.mix(blendKey) & SECTION_BLEND_CACHE_MASK;
+	}
 
-			if ((blendCacheCompletionHighFlags & mask) == 0) {
-				blendCacheCompletionHighFlags |= mask;
-				return true;
-			} else {
-				return false;
-			}
+	private void nextBlendGeneration() {
+		if (++blendGeneration == 0) {
+			// wrapped - old stamps could collide with new ones
+			Arrays.fill(blendCacheGenerations, 0);
+			blendGeneration = 1;
 		}
 	}
 
+	/**
+	 * Call at start of each new section to retain blend results for the duration
+	 * of the section build. Blends are then keyed by block position, face and depth
+	 * and survive {@link #prepare(int)}, so positions that are visited more than once
+	 * (fluid and block in the same cell, region bake listeners, etc.) reuse them.
+	 *
+	 * <p>If this is never called, blend results are discarded at every {@link #prepare(int)}.
+	 */
+	public void prepareForSection() {
+		isSectionScoped = true;
+		nextBlendGeneration();
+	}
+
+	/**
+	 * Number of blend lookups satisfied from cache since this instance was created.
+	 */
+	public long blendCacheHits() {
+		return blendCacheHits;
+	}
+
+	/**
+	 * Number of blend lookups that required computation since this instance was created.
+	 */
+	public long blendCacheMisses() {
+		return blendCacheMisses;
+	}
+
 	/**
 	 * Call at start of each new block.
 	 *
@@ -125,8 +171,10 @@ public abstract class AoCalculator {
 		targetCacheIndex = this.cacheIndexFromSectionIndex(packedSectionPos);
 
 		completionFlags = 0;
-		blendCacheCompletionLowFlags = 0;
-		blendCacheCompletionHighFlags = 0;
+
+		if (!isSectionScoped) {
+			nextBlendGeneration();
+		}
 	}
 
 	public void compute(BaseQuadEmitter quad) {
@@ -213,10 +261,16 @@ public abstract class AoCalculator {
 		} else if (w1 >= 0.96875f) {
 			return gatherFace(lightFace, false).calc;
 		} else {
-			final int blendIndex = blendIndex(lightFace, w1);
-			final AoFaceCalc result = blendCache[blendIndex];
+			final int blendKey = blendKey(targetSectionPos, blendIndex(lightFace, w1));
+			final int slot = blendSlot(blendKey);
+			final AoFaceCalc result = blendCache[slot];
 
-			if (checkBlendDirty(blendIndex)) {
+			if (blendCacheGenerations[slot] == blendGeneration && blendCacheKeys[slot] == blendKey) {
+				++blendCacheHits;
+			} else {
+				++blendCacheMisses;
+				blendCacheGenerations[slot] = blendGeneration;
+				blendCacheKeys[slot] = blendKey;
 				final float w0 = 1 - w1;
 				result.weightedMean(
 						gatherFace(lightFace, true).calc, w0,
@@ -56,6 +56,7 @@ public class BaseBlockInputContext<T extends BlockAndTintGetter> extends BaseBak
 	protected int cullCompletionFlags;
 	protected int cullResultFlags;
 	protected boolean isFluidModel = false;
+	protected int lod = 0;
 
 	public BaseBlockInputContext() {
 		super(Type.BLOCK);
@@ -71,7 +72,18 @@ public class BaseBlockInputContext<T extends BlockAndTintGetter> extends BaseBak
 		this.blockView = blockView;
 	}
 
+	/** Sets the level of detail reported to models until changed. */
+	public void setLod(int lod) {
+		this.lod = Math.max(0, Math.min(MAX_LOD, lod));
+	}
+
+	@Override
+	public int lod() {
+		return lod;
+	}
+
 	public void release() {
+		lod = 0;
 		blockView = null;
 		matrixStack = null;
 		bakedModel = null;
@@ -183,7 +183,7 @@ public abstract class BaseQuadEmitter extends BaseQuadView implements QuadEmitte
 		System.arraycopy(quad.getVertices(), 0, data, baseIndex + HEADER_STRIDE, MESH_QUAD_STRIDE);
 		material(material);
 		convertVanillaUvPrecision();
-		normalizeSprite();
+		normalizeKnownSprite(quad.getSprite());
 		isSpriteInterpolated = false;
 		data[baseIndex + HEADER_BITS] = MeshEncodingHelper.cullFace(0, cullFaceId);
 		nominalFaceId = FaceUtil.toFaceIndex(quad.getDirection());
@@ -345,23 +345,40 @@ public abstract class BaseQuadEmitter extends BaseQuadView implements QuadEmitte
 
 	protected void normalizeSprite() {
 		if (material().texture().isAtlas()) {
-			final TextureAtlasSprite sprite = findSprite();
-			final int spriteId = ((IndexedSprite) sprite).frex_index();
-			final float u0 = sprite.getU0();
-			final float v0 = sprite.getV0();
-			final float uSpanInv = 1f / (sprite.getU1() - u0);
-			final float vSpanInv = 1f / (sprite.getV1() - v0);
-
-			spriteFloat(0, (spriteFloatU(0) - u0) * uSpanInv, (spriteFloatV(0) - v0) * vSpanInv);
-			spriteFloat(1, (spriteFloatU(1) - u0) * uSpanInv, (spriteFloatV(1) - v0) * vSpanInv);
-			spriteFloat(2, (spriteFloatU(2) - u0) * uSpanInv, (spriteFloatV(2) - v0) * vSpanInv);
-			spriteFloat(3, (spriteFloatU(3) - u0) * uSpanInv, (spriteFloatV(3) - v0) * vSpanInv);
-			spriteId(spriteId);
+			normalizeSprite(findSprite());
 		} else {
 			assert false : "Attempt to normalize non-atlas sprite coordinates.";
 		}
 	}
 
+	/**
+	 * For quads that already know their sprite, as baked quads do. Avoids the finder
+	 * search unless the sprite is missing or from a different atlas than the material.
+	 */
+	protected void normalizeKnownSprite(@Nullable TextureAtlasSprite sprite) {
+		final var texture = material().texture();
+
+		if (sprite != null && texture.isAtlas() && sprite.atlasLocation().equals(texture.id())) {
+			normalizeSprite(sprite);
+		} else {
+			normalizeSprite();
+		}
+	}
+
+	private void normalizeSprite(TextureAtlasSprite sprite) {
+		final int spriteId = ((IndexedSprite) sprite).frex_index();
+		final float u0 = sprite.getU0();
+		final float v0 = sprite.getV0();
+		final float uSpanInv = 1f / (sprite.getU1() - u0);
+		final float vSpanInv = 1f / (sprite.getV1() - v0);
+
+		spriteFloat(0, (spriteFloatU(0) - u0) * uSpanInv, (spriteFloatV(0) - v0) * vSpanInv);
+		spriteFloat(1, (spriteFloatU(1) - u0) * uSpanInv, (spriteFloatV(1) - v0) * vSpanInv);
+		spriteFloat(2, (spriteFloatU(2) - u0) * uSpanInv, (spriteFloatV(2) - v0) * vSpanInv);
+		spriteFloat(3, (spriteFloatU(3) - u0) * uSpanInv, (spriteFloatV(3) - v0) * vSpanInv);
+		spriteId(spriteId);
+	}
+
 	/**
 	 * Same as logic in SpriteFinder but can assume sprites are mapped - avoids checks.
 	 */
@@ -406,9 +423,13 @@ public abstract class BaseQuadEmitter extends BaseQuadView implements QuadEmitte
 			if (mat.texture().isAtlas()) {
 				final var atlasInfo = material().texture().spriteIndex();
 				final var spriteId = spriteId();
+				final float u0 = atlasInfo.u0(spriteId);
+				final float v0 = atlasInfo.v0(spriteId);
+				final float uSpan = atlasInfo.u1(spriteId) - u0;
+				final float vSpan = atlasInfo.v1(spriteId) - v0;
 
 				for (int i = 0; i < 4; ++i) {
-					spriteFloat(i, atlasInfo.mapU(spriteId, spriteFloatU(i)), atlasInfo.mapV(spriteId, spriteFloatV(i)));
+					spriteFloat(i, u0 + spriteFloatU(i) * uSpan, v0 + spriteFloatV(i) * vSpan);
 				}
 
 				isSpriteInterpolated = true;
@@ -24,6 +24,7 @@ import java.util.List;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.renderer.block.model.BakedQuad;
 import net.minecraft.client.resources.model.BakedModel;
+import net.minecraft.client.resources.model.SimpleBakedModel;
 import net.minecraft.core.Direction;
 import net.minecraft.util.RandomSource;
 import net.minecraft.world.level.block.state.BlockState;
@@ -32,8 +33,16 @@ import io.vram.frex.api.buffer.QuadEmitter;
 import io.vram.frex.api.material.MaterialConstants;
 import io.vram.frex.api.material.MaterialFinder;
 import io.vram.frex.api.material.RenderMaterial;
+import io.vram.frex.api.mesh.Mesh;
+import io.vram.frex.api.mesh.MeshBuilder;
+import io.vram.frex.api.mesh.QuadView;
 import io.vram.frex.api.model.BakedInputContext;
+import io.vram.frex.api.model.BlockModel.BlockInputContext;
+import io.vram.frex.api.model.util.GeometryUtil;
 import io.vram.frex.api.model.util.FaceUtil;
+import io.vram.frex.api.renderer.Renderer;
+import io.vram.frex.base.renderer.mesh.BaseMesh;
+import io.vram.frex.mixinterface.SimpleBakedModelExt;
 
 /**
  * Utilities for vanilla baked models. Generally intended to give visual results matching a vanilla render,
@@ -53,6 +62,14 @@ import io.vram.frex.api.model.util.FaceUtil;
  * <p>Another difference from vanilla render is that all transformation happens before the
  * vertex data is sent to the byte buffer.  Generally POJO array access will be faster than
  * manipulating the data via NIO.
+ *
+ * <p>Quads of plain {@link SimpleBakedModel} instances don't depend on block state or random,
+ * so those are transcoded once per model and AO mode and retained as meshes. Subsequent
+ * renders copy the already-transcoded quads instead of converting them again.
+ *
+ * <p>When a block input context requests a level of detail above zero, quads without
+ * a cull face - the inside and detail geometry of vanilla models - are dropped if
+ * their area is below a threshold that grows with the level.
  */
 public class BakedModelTranscoder {
 	protected static final RenderMaterial FLAT_MATERIAL;
@@ -60,6 +77,9 @@ public class BakedModelTranscoder {
 	protected static final RenderMaterial AO_FLAT_MATERIAL;
 	protected static final RenderMaterial AO_SHADED_MATERIAL;
 
+	/** Inside quads smaller than this are dropped at each level of detail. */
+	protected static final float[] LOD_DETAIL_AREA = {0f, 0.125f, 0.25f, 0.5f};
+
 	static {
 		final MaterialFinder finder = MaterialFinder.threadLocal();
 		FLAT_MATERIAL = finder.clear().preset(MaterialConstants.PRESET_DEFAULT).disableDiffuse(true).disableAo(true).find();
@@ -83,6 +103,12 @@ public class BakedModelTranscoder {
 		// Note that we can't check for culling here if any transforms are active because facing could change
 		final boolean activeTransform = output.isTransformer();
 
+		// exact class match - subtypes may override getQuads
+		if (model.getClass() == SimpleBakedModel.class) {
+			acceptMeshes(transcodedMeshes(model, useAo, quadsBlockState, random), input, activeTransform, output);
+			return;
+		}
+
 		var quads = model.getQuads(quadsBlockState, Direction.DOWN, random);
 		if (!quads.isEmpty() && (activeTransform || input.cullTest(FaceUtil.DOWN_INDEX))) acceptFaceQuads(FaceUtil.DOWN_INDEX, useAo, quads, output);
 
@@ -101,7 +127,124 @@ public class BakedModelTranscoder {
 		quads = model.getQuads(quadsBlockState, Direction.EAST, random);
 		if (!quads.isEmpty() && (activeTransform || input.cullTest(FaceUtil.EAST_INDEX))) acceptFaceQuads(FaceUtil.EAST_INDEX, useAo, quads, output);
 
-		acceptInsideQuads(useAo, model.getQuads(quadsBlockState, null, random), output);
+		acceptInsideQuads(useAo, model.getQuads(quadsBlockState, null, random), output, lod(input));
+	}
+
+	protected static int lod(BakedInputContext input) {
+		return input instanceof final BlockInputContext blockInput ? blockInput.lod() : 0;
+	}
+
+	/** True if the quad is inside or detail geometry too small to keep at the given level of detail. */
+	public static boolean isLodDetail(QuadView quad, int lod) {
+		return lod > 0 && GeometryUtil.area(quad) < LOD_DETAIL_AREA[Math.min(lod, LOD_DETAIL_AREA.length - 1)];
+	}
+
+	/**
+	 * True when all parts are plain {@link SimpleBakedModel} instances, whose quads do not
+	 * depend on position or random and so can be merged once per block state.
+	 */
+	public static boolean canMerge(BakedModel[] parts) {
+		for (final BakedModel part : parts) {
+			if (part.getClass() != SimpleBakedModel.class) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Concatenates the transcoded meshes of all parts into a single face-indexed mesh
+	 * array that can be output with {@link #acceptMerged(Mesh[], BakedInputContext, QuadEmitter)}.
+	 * Parts must satisfy {@link #canMerge(BakedModel[])}.
+	 *
+	 * @param allowAo True if the block state and current options allow AO. Each part
+	 * further applies its own {@link BakedModel#useAmbientOcclusion()}.
+	 */
+	public static Mesh[] mergedMeshes(BakedModel[] parts, BlockState blockState, boolean allowAo, RandomSource random) {
+		final Mesh[] result = new Mesh[FaceUtil.FACE_INDEX_COUNT];
+		final MeshBuilder builder = Renderer.get().meshBuilder();
+		final QuadEmitter emitter = builder.getEmitter();
+
+		for (int faceIndex = 0; faceIndex < FaceUtil.FACE_INDEX_COUNT; ++faceIndex) {
+			for (final BakedModel part : parts) {
+				final Mesh mesh = transcodedMeshes(part, allowAo && part.useAmbientOcclusion(), blockState, random)[faceIndex];
+
+				if (mesh != Mesh.EMPTY) {
+					mesh.outputTo(emitter);
+				}
+			}
+
+			result[faceIndex] = buildOrEmpty(builder);
+		}
+
+		return result;
+	}
+
+	/** True if AO is possible for the block state in the input, before checking individual models. */
+	public static boolean allowAo(BakedInputContext input) {
+		final var blockState = input.blockState();
+		return blockState != null && blockState.getLightEmission() == 0 && Minecraft.useAmbientOcclusion();
+	}
+
+	/** Outputs meshes from {@link #mergedMeshes(BakedModel[], BlockState, boolean, RandomSource)} in one pass. */
+	public static void acceptMerged(Mesh[] meshes, BakedInputContext input, QuadEmitter output) {
+		acceptMeshes(meshes, input, output.isTransformer(), output);
+	}
+
+	protected static Mesh[] transcodedMeshes(BakedModel model, boolean useAo, @Nullable BlockState quadsBlockState, RandomSource random) {
+		final var modelExt = (SimpleBakedModelExt) model;
+		Mesh[] result = modelExt.frx_transcodedMeshes(useAo);
+
+		if (result == null) {
+			result = new Mesh[FaceUtil.FACE_INDEX_COUNT];
+			final MeshBuilder builder = Renderer.get().meshBuilder();
+			final QuadEmitter emitter = builder.getEmitter();
+
+			for (int faceIndex = 0; faceIndex < FaceUtil.UNASSIGNED_INDEX; ++faceIndex) {
+				acceptFaceQuads(faceIndex, useAo, model.getQuads(quadsBlockState, FaceUtil.faceFromIndex(faceIndex), random), emitter);
+				result[faceIndex] = buildOrEmpty(builder);
+			}
+
+			acceptInsideQuads(useAo, model.getQuads(quadsBlockState, null, random), emitter);
+			result[FaceUtil.UNASSIGNED_INDEX] = buildOrEmpty(builder);
+			modelExt.frx_setTranscodedMeshes(useAo, result);
+		}
+
+		return result;
+	}
+
+	protected static void acceptMeshes(Mesh[] meshes, BakedInputContext input, boolean activeTransform, QuadEmitter output) {
+		for (int faceIndex = 0; faceIndex < FaceUtil.UNASSIGNED_INDEX; ++faceIndex) {
+			final Mesh mesh = meshes[faceIndex];
+
+			if (mesh != Mesh.EMPTY && (activeTransform || input.cullTest(faceIndex))) {
+				mesh.outputTo(output);
+			}
+		}
+
+		final Mesh insideMesh = meshes[FaceUtil.UNASSIGNED_INDEX];
+
+		if (insideMesh != Mesh.EMPTY) {
+			final int lod = lod(input);
+
+			if (lod == 0) {
+				insideMesh.outputTo(output);
+			} else {
+				insideMesh.forEach(q -> {
+					if (!isLodDetail(q, lod)) {
+						q.copyTo(output);
+						output.emit();
+					}
+				});
+			}
+		}
+	}
+
+	/** Empty faces are common and map to {@link Mesh#EMPTY} so they can be skipped by identity. */
+	private static Mesh buildOrEmpty(MeshBuilder builder) {
+		final Mesh result = builder.build();
+		return result instanceof BaseMesh baseMesh && baseMesh.data().length == 0 ? Mesh.EMPTY : result;
 	}
 
 	protected static void acceptFaceQuads(int faceIndex, boolean useAo, List<BakedQuad> quads, QuadEmitter qe) {
@@ -114,11 +257,19 @@ public class BakedModelTranscoder {
 	}
 
 	protected static void acceptInsideQuads(boolean useAo, List<BakedQuad> quads, QuadEmitter qe) {
+		acceptInsideQuads(useAo, quads, qe, 0);
+	}
+
+	protected static void acceptInsideQuads(boolean useAo, List<BakedQuad> quads, QuadEmitter qe, int lod) {
 		final int count = quads.size();
 
 		for (int j = 0; j < count; j++) {
 			final BakedQuad q = quads.get(j);
-			qe.fromVanilla(q, q.isShade() ? (useAo ? AO_SHADED_MATERIAL : SHADED_MATERIAL) : (useAo ? AO_FLAT_MATERIAL : FLAT_MATERIAL), FaceUtil.UNASSIGNED_INDEX).emit();
+			qe.fromVanilla(q, q.isShade() ? (useAo ? AO_SHADED_MATERIAL : SHADED_MATERIAL) : (useAo ? AO_FLAT_MATERIAL : FLAT_MATERIAL), FaceUtil.UNASSIGNED_INDEX);
+
+			if (!isLodDetail(qe, lod)) {
+				qe.emit();
+			}
 		}
 	}
 }
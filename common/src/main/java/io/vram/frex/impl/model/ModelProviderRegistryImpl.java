@@ -50,6 +50,7 @@ import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import net.minecraft.client.renderer.block.model.BlockModel;
+import net.minecraft.client.resources.model.BlockModelRotation;
 import net.minecraft.client.resources.model.BlockStateModelLoader;
 import net.minecraft.client.resources.model.ModelBakery;
 import net.minecraft.client.resources.model.ModelResourceLocation;
@@ -65,6 +66,7 @@ import io.vram.frex.api.config.FrexConfig;
 import io.vram.frex.api.model.provider.ModelLocationProvider;
 import io.vram.frex.api.model.provider.ModelProvider;
 import io.vram.frex.api.model.provider.SubModelLoader;
+import io.vram.frex.base.client.model.BaseModelBuilder;
 import io.vram.frex.impl.FrexLog;
 import io.vram.frex.mixinterface.ModelBakeryExt;
 
@@ -73,6 +75,8 @@ public class ModelProviderRegistryImpl {
 		private final List<ModelProvider<ResourceLocation>> modelVariantProviders;
 		private final List<ModelProvider<ResourceLocation>> modelResourceProviders;
 		private final Object2ObjectOpenHashMap<ResourceLocation, ModelProvider<ResourceLocation>> blockItemProviders = new Object2ObjectOpenHashMap<>();
+		/** Builders that opted into parallel baking, with the first location each was loaded for. */
+		private final Object2ObjectOpenHashMap<BaseModelBuilder<?>, ModelResourceLocation> parallelBuilders = new Object2ObjectOpenHashMap<>();
 
 		private ModelBakery loader;
 
@@ -122,13 +126,13 @@ public class ModelProviderRegistryImpl {
 				}
 
 				if (model != null) {
-					return model;
+					return collectForBake(modelId, model);
 				}
 
 				model = loadCustomModel((r) -> r.loadModel(variantId, this), modelVariantProviders, "resource provider");
 
 				if (model != null) {
-					return model;
+					return collectForBake(modelId, model);
 				}
 
 				// Replicating the special-case from ModelBakery as loadModelFromJson is insufficiently patchable
@@ -145,9 +149,58 @@ public class ModelProviderRegistryImpl {
 			}
 		}
 
+		private UnbakedModel collectForBake(ModelResourceLocation id, UnbakedModel model) {
+			if (model instanceof final BaseModelBuilder<?> builder) {
+				if (builder.modelLocation() == null) {
+					builder.modelLocation(id);
+				}
+
+				if (builder.isParallelBake()) {
+					parallelBuilders.putIfAbsent(builder, id);
+				}
+			}
+
+			return model;
+		}
+
 		public void finish() {
 			loader = null;
 		}
+
+		/**
+		 * Bakes builders that opted into {@link BaseModelBuilder#parallelBake(boolean)} on the
+		 * common ForkJoinPool and waits for all of them. Must run before vanilla bakes top-level
+		 * models, which then find the results already cached in each builder. Each bake gets its
+		 * own mesh builders because {@code Renderer.meshBuilder()} returns a new one per call.
+		 *
+		 * <p>Sprite lookups are serialized because vanilla's texture getter records missing
+		 * materials in a map that isn't thread-safe. Lookups are cheap next to mesh building,
+		 * which still runs in parallel.
+		 */
+		public void bakeParallel(ModelBakery.TextureGetter textureGetter) {
+			if (parallelBuilders.isEmpty()) {
+				return;
+			}
+
+			final Object textureLock = new Object();
+
+			parallelBuilders.object2ObjectEntrySet().parallelStream().forEach(e -> {
+				final ModelResourceLocation id = e.getValue();
+
+				try {
+					e.getKey().bake(null, material -> {
+						synchronized (textureLock) {
+							return textureGetter.get(id, material);
+						}
+					}, BlockModelRotation.X0_Y0);
+				} catch (final Exception ex) {
+					// vanilla will try again serially and report the failure in context
+					FrexLog.error(ex);
+				}
+			});
+
+			parallelBuilders.clear();
+		}
 	}
 
 	private static <T> UnbakedModel loadCustomModel(Function<T, UnbakedModel> function, Collection<T> loaders, String debugName) {
@@ -20,113 +20,133 @@
 
 package io.vram.frex.impl.texture;
 
-import java.util.Map;
-import java.util.function.Consumer;
-import net.minecraft.client.renderer.texture.MissingTextureAtlasSprite;
+import java.util.Arrays;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import net.minecraft.client.renderer.texture.SpriteLoader;
 import net.minecraft.client.renderer.texture.TextureAtlas;
 import net.minecraft.client.renderer.texture.TextureAtlasSprite;
-import net.minecraft.resources.ResourceLocation;
 import io.vram.frex.api.texture.SpriteFinder;
 
 /**
  * Indexes an atlas sprite to allow fast lookup of Sprites from
- * baked vertex coordinates.  Implementation is a straightforward
- * quad tree. Other options that were considered were linear search
- * (slow) and direct indexing of fixed-size cells. Direct indexing
- * would be fastest but would be memory-intensive for large atlases
- * and unsuitable for any atlas that isn't consistently aligned to
- * a fixed cell size.
+ * baked vertex coordinates. Implementation is a uniform grid over the
+ * atlas held in a flat array, built when the atlas is stitched.
+ *
+ * <p>Cell size is the coarsest power of two that every sprite's position
+ * and size is aligned to, so normally each cell is covered by at most one
+ * sprite and lookup is a single array read. If that would make the grid
+ * larger than {@link #MAX_CELLS}, cells are made coarser and cells that
+ * end up shared by several sprites hold a short candidate list that is
+ * searched by bounds.
  */
 public class SpriteFinderImpl implements SpriteFinder {
-	private final Node root;
-	private final TextureAtlas spriteAtlasTexture;
-
-	public SpriteFinderImpl(Map<ResourceLocation, TextureAtlasSprite> sprites, TextureAtlas spriteAtlasTexture) {
-		root = new Node(0.5f, 0.5f, 0.25f);
-		this.spriteAtlasTexture = spriteAtlasTexture;
-		sprites.values().forEach(root::add);
-	}
-
-	@Override
-	public TextureAtlasSprite find(float u, float v) {
-		return root.find(u, v);
-	}
-
-	private class Node {
-		final float midU;
-		final float midV;
-		final float cellRadius;
-		Object lowLow = null;
-		Object lowHigh = null;
-		Object highLow = null;
-		Object highHigh = null;
-
-		Node(float midU, float midV, float radius) {
-			this.midU = midU;
-			this.midV = midV;
-			cellRadius = radius;
+	private static final int MAX_CELLS = 1 << 20;
+	private static final int EMPTY_CELL = -1;
+
+	private final TextureAtlasSprite[] sprites;
+	private final TextureAtlasSprite missingSprite;
+	private final int columns;
+	private final int rows;
+	private final float uCells;
+	private final float vCells;
+
+	/**
+	 * Values >= 0 are indexes into {@link #sprites}. {@link #EMPTY_CELL} has no sprite.
+	 * Other negative values are -2 - n, where n indexes {@link #sharedCells}.
+	 */
+	private final int[] cells;
+	private final int[][] sharedCells;
+
+	public SpriteFinderImpl(SpriteLoader.Preparations preparations) {
+		sprites = preparations.regions().values().toArray(new TextureAtlasSprite[0]);
+		missingSprite = preparations.missing();
+
+		final int atlasWidth = preparations.width();
+		final int atlasHeight = preparations.height();
+
+		// coarsest power of two that all sprite edges fall on
+		int alignment = atlasWidth | atlasHeight;
+
+		for (final TextureAtlasSprite sprite : sprites) {
+			alignment |= sprite.getX() | sprite.getY() | sprite.contents().width() | sprite.contents().height();
 		}
 
-		static final float EPS = 0.00001f;
-
-		void add(TextureAtlasSprite sprite) {
-			final boolean lowU = sprite.getU0() < midU - EPS;
-			final boolean highU = sprite.getU1() > midU + EPS;
-			final boolean lowV = sprite.getV0() < midV - EPS;
-			final boolean highV = sprite.getV1() > midV + EPS;
-
-			if (lowU && lowV) {
-				addInner(sprite, lowLow, -1, -1, q -> lowLow = q);
-			}
-
-			if (lowU && highV) {
-				addInner(sprite, lowHigh, -1, 1, q -> lowHigh = q);
-			}
+		int cellSize = Math.max(1, Integer.lowestOneBit(alignment));
 
-			if (highU && lowV) {
-				addInner(sprite, highLow, 1, -1, q -> highLow = q);
-			}
+		while ((long) ceilDiv(atlasWidth, cellSize) * ceilDiv(atlasHeight, cellSize) > MAX_CELLS) {
+			cellSize <<= 1;
+		}
 
-			if (highU && highV) {
-				addInner(sprite, highHigh, 1, 1, q -> highHigh = q);
+		columns = Math.max(1, ceilDiv(atlasWidth, cellSize));
+		rows = Math.max(1, ceilDiv(atlasHeight, cellSize));
+		uCells = (float) atlasWidth / cellSize;
+		vCells = (float) atlasHeight / cellSize;
+		cells = new int[columns * rows];
+		Arrays.fill(cells, EMPTY_CELL);
+
+		final ObjectArrayList<int[]> shared = new ObjectArrayList<>();
+
+		for (int spriteIndex = 0; spriteIndex < sprites.length; ++spriteIndex) {
+			final TextureAtlasSprite sprite = sprites[spriteIndex];
+			final int x0 = sprite.getX() / cellSize;
+			final int y0 = sprite.getY() / cellSize;
+			final int x1 = Math.min(columns - 1, (sprite.getX() + sprite.contents().width() - 1) / cellSize);
+			final int y1 = Math.min(rows - 1, (sprite.getY() + sprite.contents().height() - 1) / cellSize);
+
+			for (int y = y0; y <= y1; ++y) {
+				for (int x = x0; x <= x1; ++x) {
+					final int cellIndex = y * columns + x;
+					final int cell = cells[cellIndex];
+
+					if (cell == EMPTY_CELL) {
+						cells[cellIndex] = spriteIndex;
+					} else if (cell >= 0) {
+						cells[cellIndex] = -2 - shared.size();
+						shared.add(new int[] {cell, spriteIndex});
+					} else {
+						final int sharedIndex = -2 - cell;
+						final int[] candidates = shared.get(sharedIndex);
+						final int[] expanded = Arrays.copyOf(candidates, candidates.length + 1);
+						expanded[candidates.length] = spriteIndex;
+						shared.set(sharedIndex, expanded);
+					}
+				}
 			}
 		}
 
-		private void addInner(TextureAtlasSprite sprite, Object quadrant, int uStep, int vStep, Consumer<Object> setter) {
-			if (quadrant == null) {
-				setter.accept(sprite);
-			} else if (quadrant instanceof Node) {
-				((Node) quadrant).add(sprite);
-			} else {
-				final Node n = new Node(midU + cellRadius * uStep, midV + cellRadius * vStep, cellRadius * 0.5f);
+		sharedCells = shared.toArray(new int[shared.size()][]);
+	}
 
-				if (quadrant instanceof TextureAtlasSprite) {
-					n.add((TextureAtlasSprite) quadrant);
-				}
+	private static int ceilDiv(int x, int y) {
+		return (x + y - 1) / y;
+	}
 
-				n.add(sprite);
-				setter.accept(n);
-			}
+	@Override
+	public TextureAtlasSprite find(float u, float v) {
+		final int x = Math.min(columns - 1, Math.max(0, (int) (u * uCells)));
+		final int y = Math.min(rows - 1, Math.max(0, (int) (v * vCells)));
+		final int cell = cells[y * columns + x];
+
+		if (cell >= 0) {
+			return sprites[cell];
+		} else if (cell == EMPTY_CELL) {
+			return missingSprite;
+		} else {
+			return findShared(sharedCells[-2 - cell], u, v);
 		}
+	}
 
-		private TextureAtlasSprite find(float u, float v) {
-			if (u < midU) {
-				return v < midV ? findInner(lowLow, u, v) : findInner(lowHigh, u, v);
-			} else {
-				return v < midV ? findInner(highLow, u, v) : findInner(highHigh, u, v);
-			}
-		}
+	private TextureAtlasSprite findShared(int[] candidates, float u, float v) {
+		for (final int spriteIndex : candidates) {
+			final TextureAtlasSprite sprite = sprites[spriteIndex];
 
-		private TextureAtlasSprite findInner(Object quadrant, float u, float v) {
-			if (quadrant instanceof TextureAtlasSprite) {
-				return (TextureAtlasSprite) quadrant;
-			} else if (quadrant instanceof Node) {
-				return ((Node) quadrant).find(u, v);
-			} else {
-				return spriteAtlasTexture.getSprite(MissingTextureAtlasSprite.getLocation());
+			if (u >= sprite.getU0() && u < sprite.getU1() && v >= sprite.getV0() && v < sprite.getV1()) {
+				return sprite;
 			}
 		}
+
+		// on an edge or in a gap - any overlapping sprite is as good as the old quadtree result
+		return sprites[candidates[0]];
 	}
 
 	public static SpriteFinderImpl get(TextureAtlas atlas) {
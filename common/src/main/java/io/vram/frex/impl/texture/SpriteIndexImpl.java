@@ -37,6 +37,8 @@ public class SpriteIndexImpl implements SpriteIndex {
 	}
 
 	private ObjectArrayList<TextureAtlasSprite> spriteIndexList = null;
+	/** Four floats per sprite: u0, v0, u1, v1. Indexed by sprite id. */
+	private float[] spriteBounds = new float[0];
 	private TextureAtlas atlas;
 	private int atlasWidth;
 	private int atlasHeight;
@@ -52,6 +54,20 @@ public class SpriteIndexImpl implements SpriteIndex {
 		spriteIndexList = spriteIndexIn;
 		atlasWidth = dataIn.width();
 		atlasHeight = dataIn.height();
+
+		final int limit = spriteIndexIn.size();
+		final float[] bounds = new float[limit * 4];
+
+		for (int i = 0; i < limit; ++i) {
+			final TextureAtlasSprite sprite = spriteIndexIn.get(i);
+			final int index = i << 2;
+			bounds[index] = sprite.getU0();
+			bounds[index + 1] = sprite.getV0();
+			bounds[index + 2] = sprite.getU1();
+			bounds[index + 3] = sprite.getV1();
+		}
+
+		spriteBounds = bounds;
 	}
 
 	@Override
@@ -61,16 +77,38 @@ public class SpriteIndexImpl implements SpriteIndex {
 
 	@Override
 	public float mapU(int spriteId, float unmappedU) {
-		final TextureAtlasSprite sprite = spriteIndexList.get(spriteId);
-		final float u0 = sprite.getU0();
-		return u0 + unmappedU * (sprite.getU1() - u0);
+		final float[] bounds = spriteBounds;
+		final int index = spriteId << 2;
+		final float u0 = bounds[index];
+		return u0 + unmappedU * (bounds[index + 2] - u0);
 	}
 
 	@Override
 	public float mapV(int spriteId, float unmappedV) {
-		final TextureAtlasSprite sprite = spriteIndexList.get(spriteId);
-		final float v0 = sprite.getV0();
-		return v0 + unmappedV * (sprite.getV1() - v0);
+		final float[] bounds = spriteBounds;
+		final int index = (spriteId << 2) + 1;
+		final float v0 = bounds[index];
+		return v0 + unmappedV * (bounds[index + 2] - v0);
+	}
+
+	@Override
+	public float u0(int spriteId) {
+		return spriteBounds[spriteId << 2];
+	}
+
+	@Override
+	public float v0(int spriteId) {
+		return spriteBounds[(spriteId << 2) + 1];
+	}
+
+	@Override
+	public float u1(int spriteId) {
+		return spriteBounds[(spriteId << 2) + 2];
+	}
+
+	@Override
+	public float v1(int spriteId) {
+		return spriteBounds[(spriteId << 2) + 3];
 	}
 
 	@Override
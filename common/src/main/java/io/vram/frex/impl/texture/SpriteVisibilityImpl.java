@@ -0,0 +1,94 @@
+/*
+ * This file is part of FREX and is licensed to the project under
+ * terms that are compatible with the GNU Lesser General Public License.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership and licensing.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.vram.frex.impl.texture;
+
+import java.util.BitSet;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMaps;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterable;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import org.jetbrains.annotations.Nullable;
+import io.vram.frex.api.texture.SpriteVisibility;
+
+public class SpriteVisibilityImpl implements SpriteVisibility {
+	public static final SpriteVisibilityImpl INSTANCE = new SpriteVisibilityImpl();
+
+	private final Long2ObjectMap<BitSet> sections = Long2ObjectMaps.synchronize(new Long2ObjectOpenHashMap<>());
+	private final BitSet frameSprites = new BitSet();
+
+	private SpriteVisibilityImpl() { }
+
+	@Override
+	public void setSectionSprites(long sectionOrigin, @Nullable BitSet spriteIds) {
+		if (spriteIds == null || spriteIds.isEmpty()) {
+			sections.remove(sectionOrigin);
+		} else {
+			sections.put(sectionOrigin, (BitSet) spriteIds.clone());
+		}
+	}
+
+	@Override
+	public @Nullable BitSet sectionSprites(long sectionOrigin) {
+		return sections.get(sectionOrigin);
+	}
+
+	@Override
+	public void removeSection(long sectionOrigin) {
+		sections.remove(sectionOrigin);
+	}
+
+	@Override
+	public void markFrameSprite(int spriteId) {
+		synchronized (frameSprites) {
+			frameSprites.set(spriteId);
+		}
+	}
+
+	@Override
+	public BitSet collectVisible(LongIterable visibleSectionOrigins, BitSet target) {
+		synchronized (frameSprites) {
+			target.or(frameSprites);
+			frameSprites.clear();
+		}
+
+		final LongIterator it = visibleSectionOrigins.iterator();
+
+		while (it.hasNext()) {
+			final BitSet spriteIds = sections.get(it.nextLong());
+
+			if (spriteIds != null) {
+				target.or(spriteIds);
+			}
+		}
+
+		return target;
+	}
+
+	/** Sprite ids are reassigned when the atlas is stitched, so anything recorded before is meaningless. */
+	public void clear() {
+		sections.clear();
+
+		synchronized (frameSprites) {
+			frameSprites.clear();
+		}
+	}
+}
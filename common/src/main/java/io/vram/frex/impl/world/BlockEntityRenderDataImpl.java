@@ -35,6 +35,15 @@ public class BlockEntityRenderDataImpl {
 		return ((BlockEntityRenderDataProviderAccess) entity.getType()).frxGetDataProvider().apply(entity);
 	}
 
+	/**
+	 * False when the block entity type has no provider that could return render data.
+	 * Used to keep block entities without render data out of {@link BlockEntityRenderIndex}.
+	 * On Fabric the default provider defers to the block entity itself, so every type passes.
+	 */
+	public static boolean mayHaveRenderData(BlockEntity entity) {
+		return ((BlockEntityRenderDataProviderAccess) entity.getType()).frxGetDataProvider() != DEFAULT_PROVIDER;
+	}
+
 	private static final Function<BlockEntity, Object> DEFAULT_PROVIDER = be -> null;
 
 	/** Overwritten via mixin on Fabric to use Fabric interface. */
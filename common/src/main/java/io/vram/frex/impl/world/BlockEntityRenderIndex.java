@@ -0,0 +1,153 @@
+/*
+ * This file is part of FREX and is licensed to the project under
+ * terms that are compatible with the GNU Lesser General Public License.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership and licensing.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.vram.frex.impl.world;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.chunk.LevelChunk;
+import org.jetbrains.annotations.ApiStatus.Internal;
+import io.vram.frex.mixinterface.LevelChunkExt;
+
+/**
+ * Per-chunk index of block entities that may supply render data, bucketed by
+ * section so region creation only visits the sections it covers instead of
+ * every block entity in the chunk.
+ *
+ * <p>Updated when the chunk adds or removes block entities. Each section keeps a
+ * mutable map guarded by this index, and an immutable snapshot of that map is
+ * built on the first read after a change. Loading a chunk with many block
+ * entities therefore costs one snapshot per section rather than one copy per
+ * insert, and readers cannot encounter concurrent modification even when a mod
+ * changes the chunk off-thread.
+ *
+ * <p>Render data itself is not cached here - it is still retrieved from each
+ * indexed block entity at region creation so changes to block entity state are
+ * always picked up.
+ */
+@Internal
+public class BlockEntityRenderIndex {
+	private static final BlockEntity[] EMPTY = new BlockEntity[0];
+
+	private final LevelChunk chunk;
+
+	/** Guarded by this. Null until the first block entity is added. */
+	private Long2ObjectOpenHashMap<BlockEntity>[] sections;
+
+	/** Published snapshots of {@link #sections}. A null element means the section changed since its last snapshot. */
+	private volatile AtomicReferenceArray<BlockEntity[]> snapshots;
+
+	public BlockEntityRenderIndex(LevelChunk chunk) {
+		this.chunk = chunk;
+	}
+
+	public static BlockEntityRenderIndex get(LevelChunk chunk) {
+		return ((LevelChunkExt) chunk).frx_blockEntityRenderIndex();
+	}
+
+	private int sectionIndex(int blockY) {
+		return SectionPos.blockToSectionCoord(blockY) - chunk.getMinSection();
+	}
+
+	/**
+	 * Immutable snapshot of indexed block entities in the section containing the given block y,
+	 * which may include entities that have since been removed.
+	 */
+	public BlockEntity[] section(int blockY) {
+		final AtomicReferenceArray<BlockEntity[]> snapshots = this.snapshots;
+		final int index = sectionIndex(blockY);
+
+		if (snapshots == null || index < 0 || index >= snapshots.length()) {
+			return EMPTY;
+		}
+
+		final BlockEntity[] result = snapshots.get(index);
+		return result == null ? snapshot(index) : result;
+	}
+
+	private synchronized BlockEntity[] snapshot(int index) {
+		final Long2ObjectOpenHashMap<BlockEntity> map = sections == null ? null : sections[index];
+		final BlockEntity[] result = map == null || map.isEmpty() ? EMPTY : map.values().toArray(EMPTY);
+		final AtomicReferenceArray<BlockEntity[]> snapshots = this.snapshots;
+
+		if (snapshots != null) {
+			snapshots.set(index, result);
+		}
+
+		return result;
+	}
+
+	@SuppressWarnings("unchecked")
+	public synchronized void add(BlockEntity blockEntity) {
+		if (!BlockEntityRenderDataImpl.mayHaveRenderData(blockEntity)) {
+			return;
+		}
+
+		final BlockPos pos = blockEntity.getBlockPos();
+		final int index = sectionIndex(pos.getY());
+
+		if (sections == null) {
+			sections = new Long2ObjectOpenHashMap[chunk.getSectionsCount()];
+			final AtomicReferenceArray<BlockEntity[]> snapshots = new AtomicReferenceArray<>(sections.length);
+
+			for (int i = 0; i < sections.length; ++i) {
+				snapshots.set(i, EMPTY);
+			}
+
+			this.snapshots = snapshots;
+		}
+
+		if (index < 0 || index >= sections.length) {
+			return;
+		}
+
+		Long2ObjectOpenHashMap<BlockEntity> map = sections[index];
+
+		if (map == null) {
+			map = new Long2ObjectOpenHashMap<>();
+			sections[index] = map;
+		}
+
+		map.put(pos.asLong(), blockEntity);
+		snapshots.set(index, null);
+	}
+
+	public synchronized void remove(BlockPos pos) {
+		final int index = sectionIndex(pos.getY());
+
+		if (sections == null || index < 0 || index >= sections.length) {
+			return;
+		}
+
+		final Long2ObjectOpenHashMap<BlockEntity> map = sections[index];
+
+		if (map != null && map.remove(pos.asLong()) != null) {
+			snapshots.set(index, null);
+		}
+	}
+
+	public synchronized void clear() {
+		sections = null;
+		snapshots = null;
+	}
+}
@@ -0,0 +1,102 @@
+/*
+ * This file is part of FREX and is licensed to the project under
+ * terms that are compatible with the GNU Lesser General Public License.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership and licensing.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.vram.frex.impl.world;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Holder;
+import net.minecraft.core.QuartPos;
+import net.minecraft.core.Registry;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.biome.Biome;
+import net.minecraft.world.level.biome.BiomeManager;
+
+/**
+ * Copy of the noise biomes covering a render region, captured on the main thread
+ * when the region is created so that chunk builder threads can resolve biomes
+ * without touching the live level.
+ *
+ * <p>Covers the quart positions that {@link BiomeManager#getBiome(BlockPos)} can
+ * sample for any block in the region. Positions outside that range fall back
+ * to the level, same as before the snapshot existed.
+ */
+public class RegionBiomeSnapshot implements BiomeManager.NoiseBiomeSource {
+	private final Level level;
+	private final BiomeManager biomeManager;
+	private final int minQuartX, minQuartY, minQuartZ;
+	private final int xSize, ySize, zSize;
+	private final Holder<Biome>[] biomes;
+	private final Registry<Biome> biomeRegistry;
+
+	@SuppressWarnings("unchecked")
+	public RegionBiomeSnapshot(Level level, BlockPos posFrom, BlockPos posTo) {
+		this.level = level;
+		biomeManager = level.getBiomeManager().withDifferentSource(this);
+		biomeRegistry = level.registryAccess().registryOrThrow(Registries.BIOME);
+
+		// BiomeManager offsets by -2 and then samples the quart and the quart after it
+		minQuartX = QuartPos.fromBlock(posFrom.getX() - 2);
+		minQuartY = QuartPos.fromBlock(posFrom.getY() - 2);
+		minQuartZ = QuartPos.fromBlock(posFrom.getZ() - 2);
+		xSize = QuartPos.fromBlock(posTo.getX() - 2) + 2 - minQuartX;
+		ySize = QuartPos.fromBlock(posTo.getY() - 2) + 2 - minQuartY;
+		zSize = QuartPos.fromBlock(posTo.getZ() - 2) + 2 - minQuartZ;
+		biomes = new Holder[xSize * ySize * zSize];
+
+		int i = 0;
+
+		for (int y = 0; y < ySize; ++y) {
+			for (int z = 0; z < zSize; ++z) {
+				for (int x = 0; x < xSize; ++x) {
+					biomes[i++] = level.getNoiseBiome(minQuartX + x, minQuartY + y, minQuartZ + z);
+				}
+			}
+		}
+	}
+
+	@Override
+	public Holder<Biome> getNoiseBiome(int quartX, int quartY, int quartZ) {
+		final int x = quartX - minQuartX;
+		final int y = quartY - minQuartY;
+		final int z = quartZ - minQuartZ;
+
+		if (x >= 0 && x < xSize && y >= 0 && y < ySize && z >= 0 && z < zSize) {
+			return biomes[(y * zSize + z) * xSize + x];
+		} else {
+			return level.getNoiseBiome(quartX, quartY, quartZ);
+		}
+	}
+
+	public Biome getBiome(BlockPos pos) {
+		return biomeManager.getBiome(pos).value();
+	}
+
+	/** Hash of the registry ids of the captured biomes, for detecting unchanged regions. */
+	public int contentHash() {
+		int result = 1;
+
+		for (final Holder<Biome> biome : biomes) {
+			result = 31 * result + biomeRegistry.getId(biome.value());
+		}
+
+		return result;
+	}
+}
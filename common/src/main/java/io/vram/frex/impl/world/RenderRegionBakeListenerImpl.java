@@ -20,10 +20,15 @@
 
 package io.vram.frex.impl.world;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
 import net.minecraft.world.level.Level;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import com.google.common.base.Preconditions;
 import io.vram.frex.api.world.RenderRegionBakeListener;
 import io.vram.frex.api.world.RenderRegionBakeListener.RenderRegionContext;
 
@@ -50,6 +55,129 @@ public class RenderRegionBakeListenerImpl {
 		}
 	}
 
+	/**
+	 * Listeners keyed by packed section position. Each key is updated atomically on its
+	 * own, so registering touches only the keys involved and readers never lock.
+	 */
+	private static class SectionIndex {
+		private final ConcurrentHashMap<Long, RenderRegionBakeListener[]> map = new ConcurrentHashMap<>();
+
+		private void add(long[] keys, RenderRegionBakeListener listener) {
+			for (final long key : keys) {
+				map.compute(key, (k, oldListeners) -> {
+					if (oldListeners == null) {
+						return new RenderRegionBakeListener[] {listener};
+					}
+
+					final RenderRegionBakeListener[] newListeners = Arrays.copyOf(oldListeners, oldListeners.length + 1);
+					newListeners[oldListeners.length] = listener;
+					return newListeners;
+				});
+			}
+		}
+
+		private void remove(long[] keys, RenderRegionBakeListener listener) {
+			for (final long key : keys) {
+				map.computeIfPresent(key, (k, oldListeners) -> {
+					final ObjectArrayList<RenderRegionBakeListener> newListeners = new ObjectArrayList<>(oldListeners.length);
+
+					for (final var l : oldListeners) {
+						if (l != listener) {
+							newListeners.add(l);
+						}
+					}
+
+					// returning null removes the key
+					return newListeners.isEmpty() ? null : newListeners.toArray(new RenderRegionBakeListener[newListeners.size()]);
+				});
+			}
+		}
+
+		private void collect(long key, List<RenderRegionBakeListener> list) {
+			if (!map.isEmpty()) {
+				final RenderRegionBakeListener[] listeners = map.get(key);
+
+				if (listeners != null) {
+					addAbsent(listeners, list);
+				}
+			}
+		}
+	}
+
+	private static class ChunkBox {
+		private final RenderRegionBakeListener listener;
+		private final int minChunkX, minChunkZ, maxChunkX, maxChunkZ;
+
+		private ChunkBox(RenderRegionBakeListener listener, int minChunkX, int minChunkZ, int maxChunkX, int maxChunkZ) {
+			this.listener = listener;
+			this.minChunkX = minChunkX;
+			this.minChunkZ = minChunkZ;
+			this.maxChunkX = maxChunkX;
+			this.maxChunkZ = maxChunkZ;
+		}
+
+		private boolean contains(int chunkX, int chunkZ) {
+			return chunkX >= minChunkX && chunkX <= maxChunkX && chunkZ >= minChunkZ && chunkZ <= maxChunkZ;
+		}
+
+		private boolean matches(ChunkBox other) {
+			return listener == other.listener && minChunkX == other.minChunkX && minChunkZ == other.minChunkZ
+					&& maxChunkX == other.maxChunkX && maxChunkZ == other.maxChunkZ;
+		}
+	}
+
+	/**
+	 * Listeners registered for chunk bounds, kept as boxes and tested per region rather
+	 * than expanded into one key per chunk. Copy-on-write: writers synchronize and publish
+	 * a new array, readers use whatever array is current without locking.
+	 */
+	private static class ChunkIndex {
+		private static final ChunkBox[] EMPTY = new ChunkBox[0];
+
+		private volatile ChunkBox[] boxes = EMPTY;
+
+		private synchronized void add(ChunkBox box) {
+			final ChunkBox[] oldBoxes = boxes;
+			final ChunkBox[] newBoxes = Arrays.copyOf(oldBoxes, oldBoxes.length + 1);
+			newBoxes[oldBoxes.length] = box;
+			boxes = newBoxes;
+		}
+
+		/** Removes one registration with the same listener and bounds, if any. */
+		private synchronized void remove(ChunkBox box) {
+			final ChunkBox[] oldBoxes = boxes;
+
+			for (int i = 0; i < oldBoxes.length; ++i) {
+				if (oldBoxes[i].matches(box)) {
+					final ChunkBox[] newBoxes = new ChunkBox[oldBoxes.length - 1];
+					System.arraycopy(oldBoxes, 0, newBoxes, 0, i);
+					System.arraycopy(oldBoxes, i + 1, newBoxes, i, newBoxes.length - i);
+					boxes = newBoxes;
+					return;
+				}
+			}
+		}
+
+		private void collect(int chunkX, int chunkZ, List<RenderRegionBakeListener> list) {
+			for (final ChunkBox box : boxes) {
+				if (box.contains(chunkX, chunkZ) && !list.contains(box.listener)) {
+					list.add(box.listener);
+				}
+			}
+		}
+	}
+
+	private static void addAbsent(RenderRegionBakeListener[] listeners, List<RenderRegionBakeListener> list) {
+		for (final var listener : listeners) {
+			if (!list.contains(listener)) {
+				list.add(listener);
+			}
+		}
+	}
+
+	private static final SectionIndex SECTION_INDEX = new SectionIndex();
+	private static final ChunkIndex CHUNK_INDEX = new ChunkIndex();
+
 	private static final ObjectArrayList<BakeHandler> LISTENERS = new ObjectArrayList<>();
 	private static BakeHandler active = (context, list) -> { };
 
@@ -69,7 +197,34 @@ public class RenderRegionBakeListenerImpl {
 		}
 	}
 
+	public static void registerForSections(RenderRegionBakeListener listener, long[] sectionPositions) {
+		SECTION_INDEX.add(sectionPositions, listener);
+	}
+
+	public static void unregisterForSections(RenderRegionBakeListener listener, long[] sectionPositions) {
+		SECTION_INDEX.remove(sectionPositions, listener);
+	}
+
+	public static void registerForChunks(RenderRegionBakeListener listener, int minChunkX, int minChunkZ, int maxChunkX, int maxChunkZ) {
+		CHUNK_INDEX.add(chunkBox(listener, minChunkX, minChunkZ, maxChunkX, maxChunkZ));
+	}
+
+	public static void unregisterForChunks(RenderRegionBakeListener listener, int minChunkX, int minChunkZ, int maxChunkX, int maxChunkZ) {
+		CHUNK_INDEX.remove(chunkBox(listener, minChunkX, minChunkZ, maxChunkX, maxChunkZ));
+	}
+
+	private static ChunkBox chunkBox(RenderRegionBakeListener listener, int minChunkX, int minChunkZ, int maxChunkX, int maxChunkZ) {
+		Preconditions.checkNotNull(listener);
+		Preconditions.checkArgument(minChunkX <= maxChunkX && minChunkZ <= maxChunkZ, "Inverted chunk bounds");
+		return new ChunkBox(listener, minChunkX, minChunkZ, maxChunkX, maxChunkZ);
+	}
+
 	public static void prepareInvocations(RenderRegionContext<Level> context, List<RenderRegionBakeListener> list) {
+		final BlockPos origin = context.origin();
+		final int sectionX = SectionPos.blockToSectionCoord(origin.getX());
+		final int sectionZ = SectionPos.blockToSectionCoord(origin.getZ());
+		SECTION_INDEX.collect(SectionPos.asLong(sectionX, SectionPos.blockToSectionCoord(origin.getY()), sectionZ), list);
+		CHUNK_INDEX.collect(sectionX, sectionZ, list);
 		active.handle(context, list);
 	}
 }
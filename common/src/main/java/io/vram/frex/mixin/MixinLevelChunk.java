@@ -0,0 +1,80 @@
+/*
+ * This file is part of FREX and is licensed to the project under
+ * terms that are compatible with the GNU Lesser General Public License.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership and licensing.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.vram.frex.mixin;
+
+import java.util.function.Consumer;
+import net.minecraft.core.BlockPos;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.protocol.game.ClientboundLevelChunkPacketData;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.chunk.LevelChunk;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import io.vram.frex.impl.world.BlockEntityRenderIndex;
+import io.vram.frex.mixinterface.LevelChunkExt;
+
+@Mixin(LevelChunk.class)
+public class MixinLevelChunk implements LevelChunkExt {
+	@Unique
+	private final BlockEntityRenderIndex frx_renderIndex = new BlockEntityRenderIndex((LevelChunk) (Object) this);
+
+	/** Render data is only read by client section builds, so server chunks are never indexed. */
+	@Unique
+	private boolean frx_isIndexed() {
+		return ((LevelChunk) (Object) this).getLevel().isClientSide();
+	}
+
+	@Inject(method = "setBlockEntity", at = @At("RETURN"))
+	private void onSetBlockEntity(BlockEntity blockEntity, CallbackInfo ci) {
+		// may return early without adding if block state has no block entity
+		if (frx_isIndexed() && ((LevelChunk) (Object) this).getBlockEntities().get(blockEntity.getBlockPos()) == blockEntity) {
+			frx_renderIndex.add(blockEntity);
+		}
+	}
+
+	@Inject(method = "removeBlockEntity", at = @At("RETURN"))
+	private void onRemoveBlockEntity(BlockPos pos, CallbackInfo ci) {
+		// not removed if chunk is not in level
+		if (frx_isIndexed() && !((LevelChunk) (Object) this).getBlockEntities().containsKey(pos)) {
+			frx_renderIndex.remove(pos);
+		}
+	}
+
+	@Inject(method = "clearAllBlockEntities", at = @At("HEAD"))
+	private void onClearAllBlockEntities(CallbackInfo ci) {
+		frx_renderIndex.clear();
+	}
+
+	// block entities are cleared directly and then re-added through setBlockEntity
+	@Inject(method = "replaceWithPacketData", at = @At("HEAD"))
+	private void onReplaceWithPacketData(FriendlyByteBuf buf, CompoundTag tag, Consumer<ClientboundLevelChunkPacketData.BlockEntityTagOutput> consumer, CallbackInfo ci) {
+		frx_renderIndex.clear();
+	}
+
+	@Override
+	public BlockEntityRenderIndex frx_blockEntityRenderIndex() {
+		return frx_renderIndex;
+	}
+}
@@ -59,6 +59,7 @@ import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.Redirect;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import io.vram.frex.base.client.model.ModelCache;
 import io.vram.frex.impl.model.ModelProviderRegistryImpl;
 import io.vram.frex.impl.model.ModelProviderRegistryImpl.LoaderInstance;
 import io.vram.frex.mixinterface.ModelBakeryExt;
@@ -99,6 +100,13 @@ public abstract class MixinModelBakery implements ModelBakeryExt {
 		frexHandler.finish();
 	}
 
+	@Inject(at = @At("HEAD"), method = "bakeModels")
+	private void beforeBakeModels(ModelBakery.TextureGetter textureGetter, CallbackInfo info) {
+		// release values held for models this reload replaces
+		ModelCache.clear();
+		frexHandler.bakeParallel(textureGetter);
+	}
+
 	@Override @Unique
 	public void frx_addModel(ResourceLocation id) {
 		final UnbakedModel unbakedModel = getModel(id);
@@ -0,0 +1,49 @@
+/*
+ * This file is part of FREX and is licensed to the project under
+ * terms that are compatible with the GNU Lesser General Public License.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership and licensing.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.vram.frex.mixin;
+
+import org.jetbrains.annotations.Nullable;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+import io.vram.frex.api.mesh.Mesh;
+import io.vram.frex.mixinterface.SimpleBakedModelExt;
+import net.minecraft.client.resources.model.SimpleBakedModel;
+
+@Mixin(SimpleBakedModel.class)
+public class MixinSimpleBakedModel implements SimpleBakedModelExt {
+	// written once per AO mode by whichever builder thread gets there first - results are identical
+	@Unique private volatile Mesh[] frx_aoMeshes;
+	@Unique private volatile Mesh[] frx_flatMeshes;
+
+	@Override
+	public @Nullable Mesh[] frx_transcodedMeshes(boolean useAo) {
+		return useAo ? frx_aoMeshes : frx_flatMeshes;
+	}
+
+	@Override
+	public void frx_setTranscodedMeshes(boolean useAo, Mesh[] meshes) {
+		if (useAo) {
+			frx_aoMeshes = meshes;
+		} else {
+			frx_flatMeshes = meshes;
+		}
+	}
+}
@@ -36,6 +36,7 @@ import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 import io.vram.frex.impl.texture.IndexedSprite;
 import io.vram.frex.impl.texture.SpriteFinderImpl;
 import io.vram.frex.impl.texture.SpriteIndexImpl;
+import io.vram.frex.impl.texture.SpriteVisibilityImpl;
 import io.vram.frex.mixinterface.SpriteLoaderExt;
 
 @Mixin(SpriteLoader.class)
@@ -67,6 +68,11 @@ public class MixinSpriteLoader implements SpriteLoaderExt {
 		// Create SpriteFinder
 		((SpriteFinderImpl.SpriteFinderAccess) frx_textureAtlas).frex_createSpriteFinder(preparations);
 
+		// Sprite ids just changed
+		if (frx_textureAtlas.location().equals(TextureAtlas.LOCATION_BLOCKS)) {
+			SpriteVisibilityImpl.INSTANCE.clear();
+		}
+
 		this.frx_textureAtlas = null;
 	}
 
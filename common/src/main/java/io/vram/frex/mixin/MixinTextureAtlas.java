@@ -38,6 +38,6 @@ public class MixinTextureAtlas implements SpriteFinderImpl.SpriteFinderAccess {
 
 	@Override
 	public void frex_createSpriteFinder(SpriteLoader.Preparations preparations) {
-		frex_spriteFinder = new SpriteFinderImpl(preparations.regions(), (TextureAtlas) (Object) this);
+		frex_spriteFinder = new SpriteFinderImpl(preparations);
 	}
 }
@@ -0,0 +1,417 @@
+/*
+ * This file is part of FREX and is licensed to the project under
+ * terms that are compatible with the GNU Lesser General Public License.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership and licensing.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.vram.frex.pastel;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import it.unimi.dsi.fastutil.ints.IntArrays;
+import org.joml.Matrix4f;
+import io.vram.frex.api.material.MaterialConstants;
+import io.vram.frex.api.model.util.GeometryUtil;
+import io.vram.frex.base.renderer.mesh.BaseQuadEmitter;
+import io.vram.frex.base.renderer.mesh.MeshEncodingHelper;
+
+/**
+ * Greedy merge of coplanar, axis-aligned rectangular quads within a section, applied
+ * to fully shaded quads just before encoding. Quads are merged when they share face,
+ * plane, material, sprite, and a single uniform color and lightmap, and when the
+ * texture coordinates of the merged quad stay continuous across the shared edge.
+ *
+ * <p>Atlas sprites can't repeat in the vanilla block shader, so two neighboring full
+ * faces with full-sprite UVs are never merged - that would stretch the texture.
+ * What does merge are quads that together sample one continuous region of a sprite,
+ * such as faces split across model elements or fine-grained procedural geometry.
+ * Translucent quads are left alone because vanilla sorts them per quad.
+ *
+ * <p>This stage therefore only helps sub-sprite geometry. Quads that already span
+ * their whole sprite on both axes - ordinary cube faces - can never merge and are
+ * rejected before they are buffered, so plain terrain pays only that check.
+ *
+ * <p>Only active while {@link PastelRenderer#mergeCoplanarFaces} is enabled.
+ * One instance per terrain context, reused across sections.
+ */
+public class PastelFaceMerger {
+	private static final int STRIDE = MeshEncodingHelper.TOTAL_MESH_QUAD_STRIDE;
+	private static final float EPSILON = 1e-5f;
+
+	// per-quad float layout: s0, s1, t0, t1, depth, then u, v for corners (s0, t0), (s1, t0), (s1, t1), (s0, t1)
+	private static final int S0 = 0, S1 = 1, T0 = 2, T1 = 3, DEPTH = 4, UV = 5;
+	private static final int GEOMETRY_STRIDE = 13;
+
+	// per-quad int layout: material, sprite, color, lightmap, face, vertex-to-corner map
+	private static final int MATERIAL = 0, SPRITE = 1, COLOR = 2, LIGHT = 3, FACE = 4, CORNERS = 5;
+	private static final int KEY_STRIDE = 6;
+
+	private static final AtomicLong MERGED_QUADS = new AtomicLong();
+
+	private int[] quadData = new int[STRIDE * 256];
+	private float[] geometry = new float[GEOMETRY_STRIDE * 256];
+	private int[] keys = new int[KEY_STRIDE * 256];
+	private int[] order = new int[256];
+	private boolean[] isMerged = new boolean[256];
+	private int quadCount;
+
+	/** Quads removed by merging since startup, across all sections. */
+	public static long mergedQuadCount() {
+		return MERGED_QUADS.get();
+	}
+
+	public void clear() {
+		quadCount = 0;
+	}
+
+	/**
+	 * Captures the quad for merging if it qualifies.
+	 *
+	 * @return true if captured, false if the caller should encode it directly
+	 */
+	public boolean add(BaseQuadEmitter quad, Matrix4f modelMatrix) {
+		final var mat = quad.material();
+
+		if (mat.transparency() != MaterialConstants.TRANSPARENCY_NONE || quad.hasVertexNormals()
+				|| (quad.geometryFlags() & GeometryUtil.AXIS_ALIGNED_FLAG) == 0) {
+			return false;
+		}
+
+		final int color = quad.vertexColor(0);
+		final int light = quad.lightmap(0);
+
+		for (int i = 1; i < 4; ++i) {
+			if (quad.vertexColor(i) != color || quad.lightmap(i) != light) {
+				return false;
+			}
+		}
+
+		if (coversWholeSprite(quad)) {
+			return false;
+		}
+
+		final int face = quad.lightFaceId();
+		final int axis = axisOfFace(face);
+		final int sAxis = (axis + 1) % 3;
+		final int tAxis = (axis + 2) % 3;
+
+		// terrain transforms are pure translations from an identity section base
+		final float dx = modelMatrix.m30();
+		final float dy = modelMatrix.m31();
+		final float dz = modelMatrix.m32();
+
+		float s0 = Float.POSITIVE_INFINITY, s1 = Float.NEGATIVE_INFINITY;
+		float t0 = Float.POSITIVE_INFINITY, t1 = Float.NEGATIVE_INFINITY;
+
+		for (int i = 0; i < 4; ++i) {
+			final float s = coordinate(quad, i, sAxis, dx, dy, dz);
+			final float t = coordinate(quad, i, tAxis, dx, dy, dz);
+			s0 = Math.min(s0, s);
+			s1 = Math.max(s1, s);
+			t0 = Math.min(t0, t);
+			t1 = Math.max(t1, t);
+		}
+
+		if (s1 - s0 < EPSILON || t1 - t0 < EPSILON) {
+			return false;
+		}
+
+		ensureCapacity();
+		final int geometryIndex = quadCount * GEOMETRY_STRIDE;
+		final float[] geometry = this.geometry;
+		int corners = 0;
+		int cornerFlags = 0;
+
+		for (int i = 0; i < 4; ++i) {
+			final float s = coordinate(quad, i, sAxis, dx, dy, dz);
+			final float t = coordinate(quad, i, tAxis, dx, dy, dz);
+			final boolean isHighS = s == s1;
+			final boolean isHighT = t == t1;
+
+			if (!isHighS && s != s0 || !isHighT && t != t0) {
+				// not a rectangle
+				return false;
+			}
+
+			final int corner = isHighT ? (isHighS ? 2 : 3) : (isHighS ? 1 : 0);
+			cornerFlags |= 1 << corner;
+			corners |= corner << (i * 2);
+			geometry[geometryIndex + UV + corner * 2] = quad.u(i);
+			geometry[geometryIndex + UV + corner * 2 + 1] = quad.v(i);
+		}
+
+		if (cornerFlags != 0b1111) {
+			return false;
+		}
+
+		// texture mapping must be affine over the rectangle for continuity tests to hold
+		for (int c = 0; c < 2; ++c) {
+			final float d = (geometry[geometryIndex + UV + 4 + c] - geometry[geometryIndex + UV + 6 + c])
+					- (geometry[geometryIndex + UV + 2 + c] - geometry[geometryIndex + UV + c]);
+
+			if (Math.abs(d) > EPSILON) {
+				return false;
+			}
+		}
+
+		geometry[geometryIndex + S0] = s0;
+		geometry[geometryIndex + S1] = s1;
+		geometry[geometryIndex + T0] = t0;
+		geometry[geometryIndex + T1] = t1;
+		geometry[geometryIndex + DEPTH] = coordinate(quad, 0, axis, dx, dy, dz);
+
+		final int keyIndex = quadCount * KEY_STRIDE;
+		keys[keyIndex + MATERIAL] = mat.index();
+		keys[keyIndex + SPRITE] = quad.spriteId();
+		keys[keyIndex + COLOR] = color;
+		keys[keyIndex + LIGHT] = light;
+		keys[keyIndex + FACE] = face;
+		keys[keyIndex + CORNERS] = corners;
+
+		// force lazily-computed header values so the copy decodes without them
+		quad.packedFaceTanget();
+		System.arraycopy(quad.data(), quad.vertexStart() - MeshEncodingHelper.HEADER_STRIDE, quadData, quadCount * STRIDE, STRIDE);
+		isMerged[quadCount] = false;
+		++quadCount;
+		return true;
+	}
+
+	/**
+	 * True when the quad's texture coordinates reach every edge of its atlas sprite.
+	 * Merging such a quad with any neighbor would need the texture to repeat.
+	 */
+	private static boolean coversWholeSprite(BaseQuadEmitter quad) {
+		final var texture = quad.material().texture();
+
+		if (!texture.isAtlas()) {
+			return false;
+		}
+
+		final var sprite = texture.spriteIndex().fromIndex(quad.spriteId());
+		float u0 = Float.POSITIVE_INFINITY, u1 = Float.NEGATIVE_INFINITY;
+		float v0 = Float.POSITIVE_INFINITY, v1 = Float.NEGATIVE_INFINITY;
+
+		for (int i = 0; i < 4; ++i) {
+			final float u = quad.u(i);
+			final float v = quad.v(i);
+			u0 = Math.min(u0, u);
+			u1 = Math.max(u1, u);
+			v0 = Math.min(v0, v);
+			v1 = Math.max(v1, v);
+		}
+
+		// atlas coordinates, so tolerance scales with the sprite
+		final float uTolerance = (sprite.getU1() - sprite.getU0()) * 0.001f;
+		final float vTolerance = (sprite.getV1() - sprite.getV0()) * 0.001f;
+
+		return u0 <= sprite.getU0() + uTolerance && u1 >= sprite.getU1() - uTolerance
+				&& v0 <= sprite.getV0() + vTolerance && v1 >= sprite.getV1() - vTolerance;
+	}
+
+	/** Face indices pair up as down/up, north/south, west/east - maps to y, z, x. */
+	private static int axisOfFace(int face) {
+		return ((face >> 1) + 1) % 3;
+	}
+
+	private static float coordinate(BaseQuadEmitter quad, int vertexIndex, int axis, float dx, float dy, float dz) {
+		return switch (axis) {
+			case 0 -> quad.x(vertexIndex) + dx;
+			case 1 -> quad.y(vertexIndex) + dy;
+			default -> quad.z(vertexIndex) + dz;
+		};
+	}
+
+	private void ensureCapacity() {
+		if (quadCount == isMerged.length) {
+			final int newSize = quadCount * 2;
+			quadData = Arrays.copyOf(quadData, newSize * STRIDE);
+			geometry = Arrays.copyOf(geometry, newSize * GEOMETRY_STRIDE);
+			keys = Arrays.copyOf(keys, newSize * KEY_STRIDE);
+			order = Arrays.copyOf(order, newSize);
+			isMerged = Arrays.copyOf(isMerged, newSize);
+		}
+	}
+
+	/**
+	 * Merges captured quads and sends each survivor through the encoder,
+	 * loaded into the given emitter. Positions are written in section space.
+	 */
+	public void flush(BaseQuadEmitter emitter, Runnable encoder) {
+		final int quadCount = this.quadCount;
+
+		if (quadCount == 0) {
+			return;
+		}
+
+		if (quadCount > 1) {
+			// strips along s, then stack strips along t
+			mergePass(S0, S1, T0, T1, 1, 2, 0, 3);
+			mergePass(T0, T1, S0, S1, 3, 2, 0, 1);
+		}
+
+		int mergedCount = 0;
+
+		for (int q = 0; q < quadCount; ++q) {
+			if (isMerged[q]) {
+				++mergedCount;
+			} else {
+				emitQuad(q, emitter);
+				encoder.run();
+			}
+		}
+
+		if (mergedCount > 0) {
+			MERGED_QUADS.addAndGet(mergedCount);
+		}
+
+		this.quadCount = 0;
+	}
+
+	/**
+	 * Merges quads whose extent along the merge axis abuts and whose extent across it matches.
+	 * Corners are given in order of low and high cross-axis position.
+	 *
+	 * @param farLow corner at (high merge, low cross) - taken from the absorbed quad
+	 * @param farHigh corner at (high merge, high cross) - taken from the absorbed quad
+	 * @param nearLow corner at (low merge, low cross)
+	 * @param nearHigh corner at (low merge, high cross)
+	 */
+	private void mergePass(int mergeLow, int mergeHigh, int crossLow, int crossHigh, int farLow, int farHigh, int nearLow, int nearHigh) {
+		final int[] order = this.order;
+		int count = 0;
+
+		for (int q = 0; q < quadCount; ++q) {
+			if (!isMerged[q]) {
+				order[count++] = q;
+			}
+		}
+
+		final float[] geometry = this.geometry;
+
+		IntArrays.quickSort(order, 0, count, (a, b) -> {
+			int result = compareKeys(a, b);
+
+			if (result == 0) {
+				final int ga = a * GEOMETRY_STRIDE;
+				final int gb = b * GEOMETRY_STRIDE;
+				result = Float.compare(geometry[ga + DEPTH], geometry[gb + DEPTH]);
+				if (result == 0) result = Float.compare(geometry[ga + crossLow], geometry[gb + crossLow]);
+				if (result == 0) result = Float.compare(geometry[ga + crossHigh], geometry[gb + crossHigh]);
+				if (result == 0) result = Float.compare(geometry[ga + mergeLow], geometry[gb + mergeLow]);
+			}
+
+			return result;
+		});
+
+		int survivor = order[0];
+
+		for (int n = 1; n < count; ++n) {
+			final int q = order[n];
+
+			if (canMerge(survivor, q, mergeLow, mergeHigh, crossLow, crossHigh, farLow, farHigh, nearLow, nearHigh)) {
+				final int gs = survivor * GEOMETRY_STRIDE;
+				final int gq = q * GEOMETRY_STRIDE;
+				geometry[gs + mergeHigh] = geometry[gq + mergeHigh];
+				System.arraycopy(geometry, gq + UV + farLow * 2, geometry, gs + UV + farLow * 2, 2);
+				System.arraycopy(geometry, gq + UV + farHigh * 2, geometry, gs + UV + farHigh * 2, 2);
+				isMerged[q] = true;
+			} else {
+				survivor = q;
+			}
+		}
+	}
+
+	private int compareKeys(int a, int b) {
+		final int ka = a * KEY_STRIDE;
+		final int kb = b * KEY_STRIDE;
+
+		for (int i = 0; i < CORNERS; ++i) {
+			final int result = Integer.compare(keys[ka + i], keys[kb + i]);
+
+			if (result != 0) {
+				return result;
+			}
+		}
+
+		return 0;
+	}
+
+	private boolean canMerge(int a, int b, int mergeLow, int mergeHigh, int crossLow, int crossHigh, int farLow, int farHigh, int nearLow, int nearHigh) {
+		if (compareKeys(a, b) != 0) {
+			return false;
+		}
+
+		final float[] geometry = this.geometry;
+		final int ga = a * GEOMETRY_STRIDE;
+		final int gb = b * GEOMETRY_STRIDE;
+
+		if (geometry[ga + DEPTH] != geometry[gb + DEPTH] || geometry[ga + crossLow] != geometry[gb + crossLow]
+				|| geometry[ga + crossHigh] != geometry[gb + crossHigh] || geometry[ga + mergeHigh] != geometry[gb + mergeLow]) {
+			return false;
+		}
+
+		final float spanA = geometry[ga + mergeHigh] - geometry[ga + mergeLow];
+		final float spanB = geometry[gb + mergeHigh] - geometry[gb + mergeLow];
+
+		for (int c = 0; c < 2; ++c) {
+			final float aFarLow = geometry[ga + UV + farLow * 2 + c];
+			final float bNearLow = geometry[gb + UV + nearLow * 2 + c];
+
+			// shared edge must sample the same texels
+			if (Math.abs(aFarLow - bNearLow) > EPSILON
+					|| Math.abs(geometry[ga + UV + farHigh * 2 + c] - geometry[gb + UV + nearHigh * 2 + c]) > EPSILON) {
+				return false;
+			}
+
+			// and texture must advance at the same rate on both sides - mappings are affine so one edge is enough
+			final float slopeA = (aFarLow - geometry[ga + UV + nearLow * 2 + c]) / spanA;
+			final float slopeB = (geometry[gb + UV + farLow * 2 + c] - bNearLow) / spanB;
+
+			if (Math.abs(slopeA - slopeB) > EPSILON) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	private void emitQuad(int q, BaseQuadEmitter emitter) {
+		emitter.copyAndLoad(quadData, q * STRIDE, STRIDE);
+
+		final int gq = q * GEOMETRY_STRIDE;
+		final int face = keys[q * KEY_STRIDE + FACE];
+		final int corners = keys[q * KEY_STRIDE + CORNERS];
+		final int axis = axisOfFace(face);
+		final float depth = geometry[gq + DEPTH];
+
+		for (int i = 0; i < 4; ++i) {
+			final int corner = (corners >> (i * 2)) & 3;
+			final float s = geometry[gq + (corner == 1 || corner == 2 ? S1 : S0)];
+			final float t = geometry[gq + (corner >= 2 ? T1 : T0)];
+
+			switch (axis) {
+				case 0 -> emitter.pos(i, depth, s, t);
+				case 1 -> emitter.pos(i, t, depth, s);
+				default -> emitter.pos(i, s, t, depth);
+			}
+
+			emitter.uv(i, geometry[gq + UV + corner * 2], geometry[gq + UV + corner * 2 + 1]);
+		}
+
+		emitter.normalizeSpritesIfNeeded();
+	}
+}
@@ -33,6 +33,7 @@ import com.mojang.blaze3d.vertex.VertexConsumer;
 import io.vram.frex.api.material.MaterialConstants;
 import io.vram.frex.api.material.RenderMaterial;
 import io.vram.frex.api.math.MatrixStack;
+import io.vram.frex.api.texture.SpriteVisibility;
 import io.vram.frex.base.renderer.context.render.ItemRenderContext;
 import io.vram.frex.base.renderer.util.EncoderUtil;
 
@@ -93,6 +94,10 @@ public class PastelItemRenderContext extends ItemRenderContext {
 			consumer = ItemRenderer.getFoilBufferDirect(vertexConsumers, renderType, true, mat.foilOverlay());
 		}
 
+		if (SpriteVisibility.isTracked(mat.texture())) {
+			SpriteVisibility.get().markFrameSprite(emitter.spriteId());
+		}
+
 		EncoderUtil.encodeQuad(emitter, inputContext, consumer);
 	}
 
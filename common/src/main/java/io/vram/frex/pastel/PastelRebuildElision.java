@@ -0,0 +1,77 @@
+/*
+ * This file is part of FREX and is licensed to the project under
+ * terms that are compatible with the GNU Lesser General Public License.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership and licensing.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.vram.frex.pastel;
+
+import java.util.concurrent.atomic.AtomicLong;
+import it.unimi.dsi.fastutil.longs.Long2LongMap;
+import it.unimi.dsi.fastutil.longs.Long2LongMaps;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+
+/**
+ * Remembers a content hash of each section's padded volume as of its last
+ * successfully uploaded build. A rebuild whose hash matches would produce the
+ * same buffers, so it is skipped and the section keeps what it already has.
+ *
+ * <p>Hashes are keyed by section origin. They are recorded only once the build
+ * they describe has replaced the section's buffers, and they are dropped when
+ * the render section at that origin is reset or releases its buffers, or when
+ * a build finishes in any other way.
+ *
+ * <p>Only active when {@link PastelRenderer#elideUnchangedRebuilds} is true.
+ */
+public class PastelRebuildElision {
+	private static final long NO_HASH = 0;
+
+	private static final Long2LongMap BUILT_HASHES = Long2LongMaps.synchronize(new Long2LongOpenHashMap());
+	private static final AtomicLong ELIDED_COUNT = new AtomicLong();
+
+	private PastelRebuildElision() { }
+
+	/**
+	 * True if the section at the given origin was last built from content with the
+	 * given hash. Counts the result as an elided rebuild when it is.
+	 */
+	public static boolean isUnchanged(long sectionOrigin, long contentHash) {
+		if (contentHash != NO_HASH && BUILT_HASHES.get(sectionOrigin) == contentHash) {
+			ELIDED_COUNT.incrementAndGet();
+			return true;
+		}
+
+		return false;
+	}
+
+	public static void confirm(long sectionOrigin, long contentHash) {
+		if (contentHash == NO_HASH) {
+			BUILT_HASHES.remove(sectionOrigin);
+		} else {
+			BUILT_HASHES.put(sectionOrigin, contentHash);
+		}
+	}
+
+	public static void invalidate(long sectionOrigin) {
+		BUILT_HASHES.remove(sectionOrigin);
+	}
+
+	/** Number of section rebuilds skipped because their content was unchanged. */
+	public static long elidedRebuildCount() {
+		return ELIDED_COUNT.get();
+	}
+}
@@ -0,0 +1,119 @@
+/*
+ * This file is part of FREX and is licensed to the project under
+ * terms that are compatible with the GNU Lesser General Public License.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership and licensing.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.vram.frex.pastel;
+
+import java.util.BitSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import it.unimi.dsi.fastutil.Hash;
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import net.minecraft.client.renderer.BiomeColors;
+import net.minecraft.core.BlockPos.MutableBlockPos;
+import net.minecraft.world.level.ColorResolver;
+
+/**
+ * Lookup caches that FREX attaches to each render region. Vanilla creates a
+ * new region for every section compile, so these are pooled instead of being
+ * allocated with the region. Claimed when the region is created on the main
+ * thread and released by the builder thread when the compile finishes.
+ *
+ * <p>Not thread-safe while claimed - a region is only used by one thread at a time.
+ */
+public class PastelRegionState {
+	/** Tint sources beyond this many per region are not cached. */
+	private static final int TINT_RESOLVER_LIMIT = 8;
+
+	/** Released instances beyond this many are left for the garbage collector. */
+	private static final int POOL_LIMIT = 64;
+
+	private static final ArrayBlockingQueue<PastelRegionState> POOL = new ArrayBlockingQueue<>(POOL_LIMIT);
+
+	public final Int2IntOpenHashMap brightnessCache = new Int2IntOpenHashMap(4096, Hash.FAST_LOAD_FACTOR);
+	public final Int2IntOpenHashMap aoLevelCache = new Int2IntOpenHashMap(4096, Hash.FAST_LOAD_FACTOR);
+	public final Int2IntOpenHashMap fullFaceCache = new Int2IntOpenHashMap(4096, Hash.FAST_LOAD_FACTOR);
+	public final Int2IntOpenHashMap tintCache = new Int2IntOpenHashMap(4096, Hash.FAST_LOAD_FACTOR);
+	public final MutableBlockPos searchPos = new MutableBlockPos();
+	public final BitSet closedCheckBits = new BitSet();
+	public final BitSet closedResultBits = new BitSet();
+	private final ColorResolver[] tintResolvers = new ColorResolver[TINT_RESOLVER_LIMIT];
+	private int tintResolverCount;
+
+	private PastelRegionState() {
+		brightnessCache.defaultReturnValue(Integer.MAX_VALUE);
+		aoLevelCache.defaultReturnValue(Integer.MAX_VALUE);
+		fullFaceCache.defaultReturnValue(Integer.MAX_VALUE);
+		tintCache.defaultReturnValue(Integer.MAX_VALUE);
+		resetTintResolvers();
+	}
+
+	private void resetTintResolvers() {
+		// vanilla sources get fixed slots - others are added as encountered
+		tintResolvers[0] = BiomeColors.GRASS_COLOR_RESOLVER;
+		tintResolvers[1] = BiomeColors.FOLIAGE_COLOR_RESOLVER;
+		tintResolvers[2] = BiomeColors.WATER_COLOR_RESOLVER;
+
+		for (int i = 3; i < TINT_RESOLVER_LIMIT; ++i) {
+			tintResolvers[i] = null;
+		}
+
+		tintResolverCount = 3;
+	}
+
+	/**
+	 * @return Slot for the given tint source in this region, or -1 if too many sources are in use.
+	 */
+	public int tintResolverSlot(ColorResolver colorResolver) {
+		final int count = tintResolverCount;
+
+		for (int i = 0; i < count; ++i) {
+			if (tintResolvers[i] == colorResolver) {
+				return i;
+			}
+		}
+
+		if (count < TINT_RESOLVER_LIMIT) {
+			tintResolvers[count] = colorResolver;
+			tintResolverCount = count + 1;
+			return count;
+		}
+
+		return -1;
+	}
+
+	private void clear() {
+		brightnessCache.clear();
+		aoLevelCache.clear();
+		fullFaceCache.clear();
+		tintCache.clear();
+		closedCheckBits.clear();
+		closedResultBits.clear();
+		resetTintResolvers();
+	}
+
+	public static PastelRegionState claim() {
+		final PastelRegionState result = POOL.poll();
+		return result == null ? new PastelRegionState() : result;
+	}
+
+	public static void release(PastelRegionState state) {
+		state.clear();
+		POOL.offer(state);
+	}
+}
@@ -20,12 +20,78 @@
 
 package io.vram.frex.pastel;
 
+import net.minecraft.client.Minecraft;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.phys.Vec3;
+
+import io.vram.frex.api.model.BlockModel.BlockInputContext;
+import io.vram.frex.api.renderloop.WorldRenderStartListener;
 import io.vram.frex.base.renderer.BaseRenderer;
 
 public class PastelRenderer extends BaseRenderer<PastelRenderMaterial> {
 	public static boolean semiFlatLighting = true;
 
+	/**
+	 * When true, section rebuilds whose padded content hashes the same as the
+	 * last uploaded build are skipped. See {@link PastelRebuildElision}.
+	 */
+	public static boolean elideUnchangedRebuilds = false;
+
+	/**
+	 * When true, unlit quads are kept for each section so that rebuilds where only
+	 * light changed can skip model output. See {@link PastelRetainedQuads}.
+	 * Has no effect unless {@link #semiFlatLighting} is also true.
+	 */
+	public static boolean retainLightingInput = false;
+
+	/**
+	 * When true, coplanar quads of a section whose lighting and texture mapping
+	 * are continuous are merged before encoding. See {@link PastelFaceMerger}.
+	 */
+	public static boolean mergeCoplanarFaces = false;
+
+	/**
+	 * Distance in blocks from the camera beyond which terrain sections are built at
+	 * level of detail one, with each doubling of distance adding a level. Zero disables
+	 * level of detail. The level is chosen when a section's region is created, and
+	 * sections are rebuilt when camera movement changes it. See {@link PastelSectionLod}.
+	 */
+	public static int lodDistance = 0;
+
+	/** Level of detail for the section with the given origin at the current camera position. */
+	public static int sectionLod(BlockPos origin) {
+		return lodAt(origin.getX() + 8, origin.getY() + 8, origin.getZ() + 8);
+	}
+
+	/** Level of detail for a render region spanning the given corners, inclusive. */
+	public static int regionLod(BlockPos posFrom, BlockPos posTo) {
+		return lodAt((posFrom.getX() + posTo.getX() + 1) * 0.5, (posFrom.getY() + posTo.getY() + 1) * 0.5, (posFrom.getZ() + posTo.getZ() + 1) * 0.5);
+	}
+
+	private static int lodAt(double x, double y, double z) {
+		final int lodDistance = PastelRenderer.lodDistance;
+
+		if (lodDistance <= 0) {
+			return 0;
+		}
+
+		final Vec3 camera = Minecraft.getInstance().gameRenderer.getMainCamera().getPosition();
+		final double dx = x - camera.x;
+		final double dy = y - camera.y;
+		final double dz = z - camera.z;
+		double distance = Math.sqrt(dx * dx + dy * dy + dz * dz);
+		int lod = 0;
+
+		while (distance >= lodDistance && lod < BlockInputContext.MAX_LOD) {
+			++lod;
+			distance *= 0.5;
+		}
+
+		return lod;
+	}
+
 	public PastelRenderer() {
 		super(PastelRenderMaterial::new);
+		WorldRenderStartListener.register(PastelSectionLod::onStartWorldRender);
 	}
 }
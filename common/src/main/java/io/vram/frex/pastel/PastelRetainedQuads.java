@@ -0,0 +1,134 @@
+/*
+ * This file is part of FREX and is licensed to the project under
+ * terms that are compatible with the GNU Lesser General Public License.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership and licensing.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.vram.frex.pastel;
+
+import java.util.Arrays;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMaps;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import org.jetbrains.annotations.Nullable;
+import org.joml.Matrix4f;
+import io.vram.frex.base.renderer.mesh.BaseQuadEmitter;
+import io.vram.frex.base.renderer.mesh.MeshEncodingHelper;
+
+/**
+ * Quads of a section as they were before lighting was applied: culled, with
+ * final materials and tint, but without AO, diffuse shade or lightmap. When a
+ * section is rebuilt and nothing but light has changed, these are lit and
+ * encoded again instead of re-running every model.
+ *
+ * <p>Retained per section origin, only while {@link PastelRenderer#retainLightingInput}
+ * is enabled. Each retained quad costs about 190 bytes. Sections with more than
+ * {@link #QUAD_LIMIT} quads are not retained.
+ *
+ * <p>Immutable once built and shared across builder threads.
+ */
+public class PastelRetainedQuads {
+	public static final int QUAD_LIMIT = 4096;
+	static final int STRIDE = MeshEncodingHelper.TOTAL_MESH_QUAD_STRIDE;
+
+	private static final Long2ObjectMap<PastelRetainedQuads> SECTIONS = Long2ObjectMaps.synchronize(new Long2ObjectOpenHashMap<>());
+
+	final long geometryHash;
+	final int quadCount;
+	final int[] quadData;
+	final int[] sectionPos;
+	final float[] offsets;
+
+	private PastelRetainedQuads(long geometryHash, Builder builder) {
+		this.geometryHash = geometryHash;
+		quadCount = builder.quadCount;
+		quadData = Arrays.copyOf(builder.quadData, quadCount * STRIDE);
+		sectionPos = Arrays.copyOf(builder.sectionPos, quadCount);
+		offsets = Arrays.copyOf(builder.offsets, quadCount * 3);
+	}
+
+	/**
+	 * @return Retained quads for the section at the given origin if they were captured
+	 * from content with the same geometry hash, or null otherwise.
+	 */
+	public static @Nullable PastelRetainedQuads get(long sectionOrigin, long geometryHash) {
+		final var result = SECTIONS.get(sectionOrigin);
+		return result != null && result.geometryHash == geometryHash ? result : null;
+	}
+
+	public static void invalidate(long sectionOrigin) {
+		SECTIONS.remove(sectionOrigin);
+	}
+
+	/**
+	 * Collects quads during a section build. One per terrain context, reused across builds.
+	 */
+	static class Builder {
+		private int[] quadData = new int[STRIDE * 256];
+		private int[] sectionPos = new int[256];
+		private float[] offsets = new float[256 * 3];
+		private int quadCount;
+		private boolean isOverLimit;
+
+		void clear() {
+			quadCount = 0;
+			isOverLimit = false;
+		}
+
+		void add(BaseQuadEmitter quad, int packedSectionPos, Matrix4f modelMatrix) {
+			if (isOverLimit) {
+				return;
+			}
+
+			if (quadCount == QUAD_LIMIT) {
+				isOverLimit = true;
+				return;
+			}
+
+			if (quadCount == sectionPos.length) {
+				final int newSize = quadCount * 2;
+				quadData = Arrays.copyOf(quadData, newSize * STRIDE);
+				sectionPos = Arrays.copyOf(sectionPos, newSize);
+				offsets = Arrays.copyOf(offsets, newSize * 3);
+			}
+
+			// force lazily-computed header values so the copy decodes without them
+			quad.geometryFlags();
+			quad.packedFaceTanget();
+			System.arraycopy(quad.data(), quad.vertexStart() - MeshEncodingHelper.HEADER_STRIDE, quadData, quadCount * STRIDE, STRIDE);
+
+			sectionPos[quadCount] = packedSectionPos;
+
+			// terrain transforms are pure translations
+			final int offsetIndex = quadCount * 3;
+			offsets[offsetIndex] = modelMatrix.m30();
+			offsets[offsetIndex + 1] = modelMatrix.m31();
+			offsets[offsetIndex + 2] = modelMatrix.m32();
+
+			++quadCount;
+		}
+
+		/** Retains the collected quads for the given section, or forgets it if over the limit. */
+		void retain(long sectionOrigin, long geometryHash) {
+			if (isOverLimit) {
+				SECTIONS.remove(sectionOrigin);
+			} else {
+				SECTIONS.put(sectionOrigin, new PastelRetainedQuads(geometryHash, this));
+			}
+		}
+	}
+}
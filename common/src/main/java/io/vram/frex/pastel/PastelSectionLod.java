@@ -0,0 +1,105 @@
+/*
+ * This file is part of FREX and is licensed to the project under
+ * terms that are compatible with the GNU Lesser General Public License.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership and licensing.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.vram.frex.pastel;
+
+import it.unimi.dsi.fastutil.longs.Long2ByteMap;
+import it.unimi.dsi.fastutil.longs.Long2ByteMaps;
+import it.unimi.dsi.fastutil.longs.Long2ByteOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+
+import io.vram.frex.api.renderloop.WorldRenderContext;
+
+/**
+ * Remembers the level of detail each section was last built at, and marks
+ * sections dirty when the camera moves far enough that their level changes.
+ * Without this, terrain built coarse at a distance would stay coarse as the
+ * player walks up to it until an unrelated block update rebuilt it.
+ *
+ * <p>Levels are keyed by section origin. They are recorded only once the build
+ * they describe has replaced the section's buffers, and they are dropped when
+ * the render section at that origin is reset or releases its buffers.
+ * Sections are checked when the camera enters a different section.
+ *
+ * <p>Only active when {@link PastelRenderer#lodDistance} is positive.
+ */
+public class PastelSectionLod {
+	private static final Long2ByteMap BUILT_LODS = Long2ByteMaps.synchronize(new Long2ByteOpenHashMap());
+	private static final LongArrayList CHANGED = new LongArrayList();
+	private static final BlockPos.MutableBlockPos SEARCH_POS = new BlockPos.MutableBlockPos();
+	private static long lastCameraSection = Long.MIN_VALUE;
+
+	private PastelSectionLod() { }
+
+	public static void record(long sectionOrigin, int lod) {
+		if (PastelRenderer.lodDistance > 0) {
+			BUILT_LODS.put(sectionOrigin, (byte) lod);
+		} else {
+			BUILT_LODS.remove(sectionOrigin);
+		}
+	}
+
+	public static void invalidate(long sectionOrigin) {
+		BUILT_LODS.remove(sectionOrigin);
+	}
+
+	/** Called on the render thread before each world render. */
+	static void onStartWorldRender(WorldRenderContext context) {
+		if (PastelRenderer.lodDistance <= 0) {
+			lastCameraSection = Long.MIN_VALUE;
+			return;
+		}
+
+		final long cameraSection = SectionPos.asLong(context.camera().getBlockPosition());
+
+		if (cameraSection == lastCameraSection) {
+			return;
+		}
+
+		lastCameraSection = cameraSection;
+		final LongArrayList changed = CHANGED;
+
+		synchronized (BUILT_LODS) {
+			for (final var entry : Long2ByteMaps.fastIterable(BUILT_LODS)) {
+				final long sectionOrigin = entry.getLongKey();
+
+				if (PastelRenderer.sectionLod(SEARCH_POS.set(sectionOrigin)) != entry.getByteValue()) {
+					changed.add(sectionOrigin);
+				}
+			}
+		}
+
+		final var levelRenderer = context.worldRenderer();
+		final int limit = changed.size();
+
+		for (int i = 0; i < limit; ++i) {
+			final long sectionOrigin = changed.getLong(i);
+			// stop checking until it is rebuilt and recorded again
+			BUILT_LODS.remove(sectionOrigin);
+			levelRenderer.setSectionDirty(SectionPos.blockToSectionCoord(BlockPos.getX(sectionOrigin)),
+					SectionPos.blockToSectionCoord(BlockPos.getY(sectionOrigin)), SectionPos.blockToSectionCoord(BlockPos.getZ(sectionOrigin)));
+		}
+
+		changed.clear();
+	}
+}
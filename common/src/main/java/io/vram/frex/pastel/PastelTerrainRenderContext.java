@@ -20,6 +20,7 @@
 
 package io.vram.frex.pastel;
 
+import java.util.BitSet;
 import java.util.Map;
 import net.minecraft.CrashReport;
 import net.minecraft.CrashReportCategory;
@@ -45,7 +46,10 @@ import io.vram.frex.api.math.FixedMath255;
 import io.vram.frex.api.math.MatrixStack;
 import io.vram.frex.api.math.PackedSectionPos;
 import io.vram.frex.api.model.BlockModel;
+import io.vram.frex.api.model.fluid.FluidField;
 import io.vram.frex.api.model.util.ColorUtil;
+import io.vram.frex.api.model.util.FaceUtil;
+import io.vram.frex.api.texture.SpriteVisibility;
 import io.vram.frex.base.renderer.ao.AoCalculator;
 import io.vram.frex.base.renderer.context.input.BaseBlockInputContext;
 import io.vram.frex.base.renderer.context.render.BlockRenderContext;
@@ -58,6 +62,18 @@ public class PastelTerrainRenderContext extends BlockRenderContext<BlockAndTintG
 	@SuppressWarnings("rawtypes")
 	protected Map initializedBuffers;
 
+	private final FluidField fluidField = new FluidField();
+	private final PastelRetainedQuads.Builder retainedQuads = new PastelRetainedQuads.Builder();
+	private final PastelFaceMerger faceMerger = new PastelFaceMerger();
+	private boolean isMerging;
+	private boolean isRetaining;
+	private boolean isRelit;
+	private long sectionOrigin;
+	private final BitSet sectionSprites = new BitSet();
+	private @Nullable BitSet completedSprites;
+	private long retainedGeometryHash;
+	private int packedBlockPos;
+
 	private final AoCalculator aoCalc = new AoCalculator() {
 		@Override
 		protected int ao(int cacheIndex) {
@@ -102,6 +118,24 @@ public class PastelTerrainRenderContext extends BlockRenderContext<BlockAndTintG
 			public boolean hasBiomeAccess() {
 				return true;
 			}
+
+			@Override
+			public FluidField fluidField() {
+				return fluidField;
+			}
+
+			@Override
+			protected boolean shouldRenderFace(Direction face, BlockPos offsetPos) {
+				// Neighbor face fully covers this one unless this face is empty, in which
+				// case vanilla always renders. Only valid when the region is the block view.
+				if (blockView == regionExt
+						&& (regionExt.frx_cachedFullFaceFlags(offsetPos) & (1 << FaceUtil.oppositeFaceIndex(face.ordinal()))) != 0
+						&& !blockState.getFaceOcclusionShape(blockView, blockPos, face).isEmpty()) {
+					return false;
+				}
+
+				return super.shouldRenderFace(face, offsetPos);
+			}
 		};
 	}
 
@@ -111,15 +145,123 @@ public class PastelTerrainRenderContext extends BlockRenderContext<BlockAndTintG
 		this.initializedBuffers = map;
 		regionExt.frx_setContext(this, origin);
 		this.buffers = buffers;
+		aoCalc.prepareForSection();
+		fluidField.prepare(origin);
+		isRetaining = false;
+		isRelit = false;
+		sectionOrigin = origin.asLong();
+		sectionSprites.clear();
+		completedSprites = null;
+		isMerging = PastelRenderer.mergeCoplanarFaces;
+		faceMerger.clear();
+		inputContext.setLod(regionExt.frx_lod());
 		return this;
 	}
 
+	/**
+	 * Call after {@link #prepareForRegion} and before any output. If quads retained for
+	 * this section were emitted from the same geometry, relights and encodes them and
+	 * ignores subsequent block and fluid output for the region. Otherwise quads output
+	 * for the region are retained for next time, unless the lighting model or bake
+	 * listeners make that unsafe.
+	 */
+	public void prepareRetention(BlockPos origin, boolean hasListeners) {
+		if (hasListeners || !PastelRenderer.retainLightingInput || !PastelRenderer.semiFlatLighting || inputContext.lod() != 0) {
+			// non-semi-flat lighting depends on block state at output time, which isn't retained,
+			// and quads are only retained at full detail so relighting never reuses coarser geometry
+			return;
+		}
+
+		final long geometryHash = regionExt.frx_geometryHash(origin);
+
+		if (geometryHash == 0) {
+			// geometry can't be compared, so nothing retained for this section can be trusted
+			PastelRetainedQuads.invalidate(sectionOrigin);
+			return;
+		}
+
+		final var retained = PastelRetainedQuads.get(sectionOrigin, geometryHash);
+
+		if (retained == null) {
+			retainedQuads.clear();
+			retainedGeometryHash = geometryHash;
+			isRetaining = true;
+		} else {
+			relight(retained);
+			isRelit = true;
+		}
+	}
+
+	private void relight(PastelRetainedQuads retained) {
+		final var matrixStack = inputContext.matrixStack();
+		final int[] quadData = retained.quadData;
+		final float[] offsets = retained.offsets;
+		final int limit = retained.quadCount;
+		int lastPos = -1;
+
+		for (int i = 0; i < limit; ++i) {
+			final int packedPos = retained.sectionPos[i];
+
+			if (packedPos != lastPos) {
+				aoCalc.prepare(packedPos);
+				lastPos = packedPos;
+			}
+
+			emitter.copyAndLoad(quadData, i * PastelRetainedQuads.STRIDE, PastelRetainedQuads.STRIDE);
+
+			final int offsetIndex = i * 3;
+			matrixStack.push();
+			matrixStack.translate(offsets[offsetIndex], offsets[offsetIndex + 1], offsets[offsetIndex + 2]);
+			lightQuad();
+			encodeQuad();
+			matrixStack.pop();
+		}
+	}
+
+	/**
+	 * Call after all blocks and fluids are output and before vanilla builds
+	 * the section buffers. Encodes quads held back for face merging.
+	 */
+	public void finishOutput() {
+		if (isMerging) {
+			faceMerger.flush(emitter, this::encodeDirect);
+			isMerging = false;
+		}
+	}
+
+	/** Call when output for the region is complete. */
+	public void completeRegion() {
+		if (isRetaining) {
+			retainedQuads.retain(sectionOrigin, retainedGeometryHash);
+			isRetaining = false;
+		}
+
+		isRelit = false;
+		completedSprites = (BitSet) sectionSprites.clone();
+	}
+
+	/**
+	 * Sprites of the region last completed on this thread, or null if none or already taken.
+	 * Published to {@link SpriteVisibility} only once the build's buffers are uploaded, so a
+	 * cancelled or failed build never replaces the sprites of buffers still on the GPU.
+	 */
+	public @Nullable BitSet takeCompletedSprites() {
+		final BitSet result = completedSprites;
+		completedSprites = null;
+		return result;
+	}
+
 	public void overrideBlockView(BlockAndTintGetter blockView) {
 		inputContext.setWorld(blockView);
 	}
 
 	public void renderFluid(BlockState blockState, BlockPos blockPos, final BlockModel model) {
-		aoCalc.prepare(PackedSectionPos.packWithSectionMask(blockPos));
+		if (isRelit) {
+			return;
+		}
+
+		packedBlockPos = PackedSectionPos.packWithSectionMask(blockPos);
+		aoCalc.prepare(packedBlockPos);
 		// for whatever reason, Mojang doesn't do section position transformation before invoking fluid render so we do it here
 		final var matrixStack = inputContext.matrixStack();
 		matrixStack.push();
@@ -130,7 +272,12 @@ public class PastelTerrainRenderContext extends BlockRenderContext<BlockAndTintG
 	}
 
 	public void renderBlock(BlockState blockState, BlockPos blockPos, final BakedModel model) {
-		aoCalc.prepare(PackedSectionPos.packWithSectionMask(blockPos));
+		if (isRelit) {
+			return;
+		}
+
+		packedBlockPos = PackedSectionPos.packWithSectionMask(blockPos);
+		aoCalc.prepare(packedBlockPos);
 		prepareForBlock(model, blockState, blockPos);
 		renderInner((BlockModel) model);
 	}
@@ -151,6 +298,15 @@ public class PastelTerrainRenderContext extends BlockRenderContext<BlockAndTintG
 		// tint before we apply shading
 		emitter.colorize(this.inputContext);
 
+		if (isRetaining) {
+			retainedQuads.add(emitter, packedBlockPos, inputContext.matrixStack().modelMatrix());
+		}
+
+		lightQuad();
+	}
+
+	/** Applies AO, diffuse shade and lightmap. Depends only on quad state and position. */
+	private void lightQuad() {
 		if (!emitter.material().disableAo() && Minecraft.useAmbientOcclusion()) {
 			aoCalc.compute(emitter);
 			final var blockView = inputContext.blockView();
@@ -213,6 +369,14 @@ public class PastelTerrainRenderContext extends BlockRenderContext<BlockAndTintG
 
 	@Override
 	protected void encodeQuad() {
+		if (isMerging && faceMerger.add(emitter, inputContext.matrixStack().modelMatrix())) {
+			return;
+		}
+
+		encodeDirect();
+	}
+
+	private void encodeDirect() {
 		RenderType renderType;
 		final var mat = emitter.material();
 
@@ -227,6 +391,10 @@ public class PastelTerrainRenderContext extends BlockRenderContext<BlockAndTintG
 			renderType = mat.unmipped() ? RenderType.cutout() : RenderType.cutoutMipped();
 		}
 
+		if (SpriteVisibility.isTracked(mat.texture())) {
+			sectionSprites.set(emitter.spriteId());
+		}
+
 		EncoderUtil.encodeQuad(emitter, inputContext, getInitializedBuffer(renderType));
 	}
 
@@ -20,28 +20,49 @@
 
 package io.vram.frex.mixin;
 
-import java.util.BitSet;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 
 import org.apache.commons.lang3.tuple.Pair;
 import org.spongepowered.asm.mixin.Final;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.Unique;
 
 import net.minecraft.client.resources.model.BakedModel;
 import net.minecraft.client.resources.model.MultiPartBakedModel;
 import net.minecraft.world.level.block.state.BlockState;
 
 import io.vram.frex.api.buffer.QuadSink;
+import io.vram.frex.api.config.FrexConfig;
+import io.vram.frex.api.mesh.Mesh;
 import io.vram.frex.api.model.BlockItemModel;
 import io.vram.frex.api.model.BlockModel;
+import io.vram.frex.base.client.model.ModelCache;
+import io.vram.frex.base.renderer.util.BakedModelTranscoder;
 
 @Mixin(MultiPartBakedModel.class)
 public class MixinMultipartBakedModel implements BlockItemModel {
 	@Shadow @Final private List<Pair<Predicate<BlockState>, BakedModel>> selectors;
-	@Shadow @Final protected Map<BlockState, BitSet> selectorCache;
+
+	/**
+	 * Active parts per block state, filled on first render of each state.
+	 * Block states do not override equals/hashCode, so lookups are by identity
+	 * and reads from builder threads never lock.
+	 */
+	@Unique private final ConcurrentHashMap<BlockState, BlockModel[]> partsByState = new ConcurrentHashMap<>();
+
+	/**
+	 * Merged part meshes per block state when {@link FrexConfig#mergeMultipartMeshes} is on,
+	 * indexed by whether AO is allowed. Held in the {@link ModelCache} budget and rebuilt
+	 * if evicted. An empty array marks states that can't be merged.
+	 */
+	@Unique private final ConcurrentHashMap<BlockState, ModelCache.Slot<Mesh[]>[]> mergedByState = new ConcurrentHashMap<>();
+
+	@SuppressWarnings("unchecked")
+	@Unique private static final ModelCache.Slot<Mesh[]>[] UNMERGEABLE = new ModelCache.Slot[0];
 
 	@Override
 	public void renderAsItem(ItemInputContext input, QuadSink output) {
@@ -53,29 +74,71 @@ public class MixinMultipartBakedModel implements BlockItemModel {
 		final var state = input.blockState();
 
 		if (state != null) {
-			BitSet bits = selectorCache.get(state);
+			BlockModel[] parts = partsByState.get(state);
 
-			if (bits == null) {
-				bits = new BitSet();
-
-				for (int i = 0; i < selectors.size(); ++i) {
-					final Pair<Predicate<BlockState>, BakedModel> pair = selectors.get(i);
+			if (parts == null) {
+				parts = partsByState.computeIfAbsent(state, this::selectParts);
+			}
 
-					if (pair.getLeft().test(state)) {
-						bits.set(i);
-					}
-				}
+			if (FrexConfig.mergeMultipartMeshes && parts.length > 1 && renderMerged(state, parts, input, output)) {
+				return;
+			}
 
-				selectorCache.put(state, bits);
+			for (final BlockModel part : parts) {
+				part.renderAsBlock(input, output);
 			}
+		}
+	}
+
+	@Unique
+	private boolean renderMerged(BlockState state, BlockModel[] parts, BlockInputContext input, QuadSink output) {
+		ModelCache.Slot<Mesh[]>[] merged = mergedByState.get(state);
+
+		if (merged == null) {
+			merged = mergedByState.computeIfAbsent(state, s -> BakedModelTranscoder.canMerge(toBakedModels(parts)) ? newMergedSlots() : UNMERGEABLE);
+		}
+
+		if (merged == UNMERGEABLE) {
+			return false;
+		}
+
+		final boolean allowAo = BakedModelTranscoder.allowAo(input);
+		final Mesh[] meshes = merged[allowAo ? 1 : 0].get(() -> BakedModelTranscoder.mergedMeshes(toBakedModels(parts), state, allowAo, input.random()));
+		BakedModelTranscoder.acceptMerged(meshes, input, output.asQuadEmitter());
+		return true;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Unique
+	private static ModelCache.Slot<Mesh[]>[] newMergedSlots() {
+		return new ModelCache.Slot[] {new ModelCache.Slot<>(ModelCache::meshArrayBytes), new ModelCache.Slot<>(ModelCache::meshArrayBytes)};
+	}
+
+	@Unique
+	private static BakedModel[] toBakedModels(BlockModel[] parts) {
+		final BakedModel[] result = new BakedModel[parts.length];
 
-			final int limit = bits.length();
+		for (int i = 0; i < parts.length; ++i) {
+			result[i] = (BakedModel) parts[i];
+		}
+
+		return result;
+	}
 
-			for (int i = 0; i < limit; ++i) {
-				if (bits.get(i)) {
-					((BlockModel) selectors.get(i).getRight()).renderAsBlock(input, output);
-				}
+	@Unique
+	private BlockModel[] selectParts(BlockState state) {
+		final int size = selectors.size();
+		final BlockModel[] parts = new BlockModel[size];
+		int count = 0;
+
+		for (int i = 0; i < size; ++i) {
+			final Pair<Predicate<BlockState>, BakedModel> pair = selectors.get(i);
+
+			if (pair.getLeft().test(state)) {
+				parts[count++] = (BlockModel) pair.getRight();
 			}
 		}
+
+		return count == size ? parts : Arrays.copyOf(parts, count);
 	}
 }
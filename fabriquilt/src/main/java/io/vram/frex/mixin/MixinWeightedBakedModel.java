@@ -25,12 +25,12 @@ import java.util.List;
 import org.spongepowered.asm.mixin.Final;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.Unique;
 
 import net.minecraft.client.resources.model.BakedModel;
 import net.minecraft.client.resources.model.WeightedBakedModel;
 import net.minecraft.util.RandomSource;
 import net.minecraft.util.random.WeightedEntry;
-import net.minecraft.util.random.WeightedRandom;
 
 import io.vram.frex.api.buffer.QuadSink;
 import io.vram.frex.api.model.BlockItemModel;
@@ -42,8 +42,84 @@ public class MixinWeightedBakedModel implements BlockItemModel {
 	@Shadow @Final private List<WeightedEntry.Wrapper<BakedModel>> list;
 	@Shadow @Final private int totalWeight;
 
+	/** Weights above this use a binary search instead of a direct lookup table. */
+	@Unique private static final int MAX_LOOKUP_WEIGHT = 4096;
+
+	/**
+	 * Maps each weighted index to a list index, or holds cumulative weights when
+	 * the total weight is too large for a direct table. Built on first use.
+	 */
+	@Unique private volatile int[] selectionTable;
+
+	/**
+	 * Same choice as {@code WeightedRandom.getWeightedItem} for the same single draw
+	 * so variants do not change, but without a linear scan of the list.
+	 */
 	private BakedModel getModel(RandomSource random) {
-		return WeightedRandom.getWeightedItem(list, Math.abs((int) random.nextLong()) % totalWeight).get().data();
+		final int weightedIndex = Math.abs((int) random.nextLong()) % totalWeight;
+
+		// abs(MIN_VALUE) is negative, and vanilla selects the first entry for it
+		if (weightedIndex < 0) {
+			return list.get(0).data();
+		}
+
+		int[] table = selectionTable;
+
+		if (table == null) {
+			table = buildSelectionTable();
+			selectionTable = table;
+		}
+
+		return list.get(totalWeight <= MAX_LOOKUP_WEIGHT ? table[weightedIndex] : searchCumulative(table, weightedIndex)).data();
+	}
+
+	@Unique
+	private int[] buildSelectionTable() {
+		final int size = list.size();
+
+		if (totalWeight <= MAX_LOOKUP_WEIGHT) {
+			final int[] result = new int[totalWeight];
+			int index = 0;
+
+			for (int i = 0; i < size; ++i) {
+				final int weight = list.get(i).getWeight().asInt();
+
+				for (int j = 0; j < weight; ++j) {
+					result[index++] = i;
+				}
+			}
+
+			return result;
+		} else {
+			final int[] result = new int[size];
+			int cumulative = 0;
+
+			for (int i = 0; i < size; ++i) {
+				cumulative += list.get(i).getWeight().asInt();
+				result[i] = cumulative;
+			}
+
+			return result;
+		}
+	}
+
+	/** Index of the first entry whose cumulative weight exceeds the weighted index. */
+	@Unique
+	private static int searchCumulative(int[] cumulative, int weightedIndex) {
+		int low = 0;
+		int high = cumulative.length - 1;
+
+		while (low < high) {
+			final int mid = (low + high) >>> 1;
+
+			if (cumulative[mid] > weightedIndex) {
+				high = mid;
+			} else {
+				low = mid + 1;
+			}
+		}
+
+		return low;
 	}
 
 	@Override
@@ -21,7 +21,6 @@
 package io.vram.frex.pastel.mixin;
 
 import java.util.Map;
-import java.util.Set;
 
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
@@ -48,7 +47,6 @@ import net.minecraft.core.SectionPos;
 import net.minecraft.util.RandomSource;
 import net.minecraft.world.level.BlockAndTintGetter;
 import net.minecraft.world.level.block.RenderShape;
-import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.material.FluidState;
 import net.minecraft.world.phys.Vec3;
@@ -86,6 +84,7 @@ public abstract class MixinChunkRebuildTask implements RenderRegionContext<Block
 		context.prepareForRegion(arg2, poseStack, blockPos, arg4, map);
 
 		final RenderRegionBakeListener[] listeners = ((RenderChunkRegionExt) arg2).frx_getRenderRegionListeners();
+		context.prepareRetention(arg1.origin(), listeners != null);
 
 		if (listeners != null) {
 			contextRegion = arg2;
@@ -127,9 +126,19 @@ public abstract class MixinChunkRebuildTask implements RenderRegionContext<Block
 		((RenderChunkRegionExt) blockView).frx_getContext().renderFluid(currentBlockState, blockPos, FluidModel.get(fluidState.getType()));
 	}
 
+	@Inject(method = "compile(Lnet/minecraft/core/SectionPos;Lnet/minecraft/client/renderer/chunk/RenderChunkRegion;Lcom/mojang/blaze3d/vertex/VertexSorting;Lnet/minecraft/client/renderer/SectionBufferBuilderPack;)Lnet/minecraft/client/renderer/chunk/SectionCompiler$Results;",
+				require = 1, at = @At(value = "INVOKE", target = "Ljava/util/Map;entrySet()Ljava/util/Set;", ordinal = 0))
+	private void beforeBuildBuffersHook(SectionPos sectionPos, RenderChunkRegion region, VertexSorting vertexSorting, SectionBufferBuilderPack buffers, CallbackInfoReturnable<Results> ci) {
+		// buffers are built from the map right after this, so held-back quads must be encoded now
+		PastelTerrainRenderContext.POOL.get().finishOutput();
+	}
+
 	@Inject(at = @At("RETURN"), method = "compile(Lnet/minecraft/core/SectionPos;Lnet/minecraft/client/renderer/chunk/RenderChunkRegion;Lcom/mojang/blaze3d/vertex/VertexSorting;Lnet/minecraft/client/renderer/SectionBufferBuilderPack;)Lnet/minecraft/client/renderer/chunk/SectionCompiler$Results;")
-	private void hookRebuildChunkReturn(CallbackInfoReturnable<Set<BlockEntity>> ci) {
-		PastelTerrainRenderContext.POOL.get().inputContext.release();
+	private void hookRebuildChunkReturn(SectionPos sectionPos, RenderChunkRegion region, VertexSorting vertexSorting, SectionBufferBuilderPack buffers, CallbackInfoReturnable<Results> ci) {
+		final PastelTerrainRenderContext context = PastelTerrainRenderContext.POOL.get();
+		context.completeRegion();
+		context.inputContext.release();
+		((RenderChunkRegionExt) region).frx_release();
 	}
 
 	@Override
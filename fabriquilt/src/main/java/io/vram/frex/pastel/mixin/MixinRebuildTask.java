@@ -0,0 +1,137 @@
+/*
+ * This file is part of FREX and is licensed to the project under
+ * terms that are compatible with the GNU Lesser General Public License.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership and licensing.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.vram.frex.pastel.mixin;
+
+import java.util.BitSet;
+import java.util.concurrent.CompletableFuture;
+
+import org.jetbrains.annotations.Nullable;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.Unique;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+import net.minecraft.client.renderer.SectionBufferBuilderPack;
+import net.minecraft.client.renderer.chunk.RenderChunkRegion;
+import net.minecraft.client.renderer.chunk.SectionRenderDispatcher;
+import net.minecraft.client.renderer.chunk.SectionRenderDispatcher.RenderSection.CompileTask;
+import net.minecraft.client.renderer.chunk.SectionRenderDispatcher.SectionTaskResult;
+
+import io.vram.frex.api.texture.SpriteVisibility;
+import io.vram.frex.pastel.PastelRebuildElision;
+import io.vram.frex.pastel.PastelRenderer;
+import io.vram.frex.pastel.PastelSectionLod;
+import io.vram.frex.pastel.PastelTerrainRenderContext;
+import io.vram.frex.pastel.mixinterface.RenderChunkRegionExt;
+
+@Mixin(SectionRenderDispatcher.RenderSection.RebuildTask.class)
+public abstract class MixinRebuildTask {
+	@Shadow @Nullable protected RenderChunkRegion region;
+
+	@Unique
+	private long contentHash;
+
+	@Unique
+	private int lod;
+
+	@Inject(method = "doTask", at = @At("HEAD"), cancellable = true)
+	private void onDoTask(SectionBufferBuilderPack buffers, CallbackInfoReturnable<CompletableFuture<SectionTaskResult>> cir) {
+		contentHash = 0;
+		lod = -1;
+		final var region = this.region;
+
+		if (region == null) {
+			return;
+		}
+
+		final var regionExt = (RenderChunkRegionExt) region;
+		lod = regionExt.frx_lod();
+
+		if (!PastelRenderer.elideUnchangedRebuilds) {
+			return;
+		}
+
+		// bake listeners can emit content that isn't visible in the region
+		if (regionExt.frx_getRenderRegionListeners() != null) {
+			return;
+		}
+
+		final var origin = ((CompileTask) (Object) this).getOrigin();
+		final long hash = regionExt.frx_contentHash(origin);
+
+		if (PastelRebuildElision.isUnchanged(origin.asLong(), hash)) {
+			// current buffers already hold this exact content
+			this.region = null;
+			regionExt.frx_release();
+			cir.setReturnValue(CompletableFuture.completedFuture(SectionTaskResult.SUCCESSFUL));
+		} else {
+			contentHash = hash;
+		}
+	}
+
+	@Inject(method = "doTask", at = @At("RETURN"), cancellable = true)
+	private void afterDoTask(SectionBufferBuilderPack buffers, CallbackInfoReturnable<CompletableFuture<SectionTaskResult>> cir) {
+		final long sectionOrigin = ((CompileTask) (Object) this).getOrigin().asLong();
+		final long hash = contentHash;
+		final int lod = this.lod;
+		final BitSet sprites = PastelTerrainRenderContext.POOL.get().takeCompletedSprites();
+
+		if (sprites != null) {
+			cir.setReturnValue(cir.getReturnValue().thenApply(result -> {
+				// otherwise the old buffers, and the sprites already recorded for them, stay in use
+				if (result == SectionTaskResult.SUCCESSFUL) {
+					SpriteVisibility.get().setSectionSprites(sectionOrigin, sprites);
+				}
+
+				return result;
+			}));
+		}
+
+		if (lod != -1 && PastelRenderer.lodDistance > 0) {
+			cir.setReturnValue(cir.getReturnValue().thenApply(result -> {
+				if (result == SectionTaskResult.SUCCESSFUL) {
+					PastelSectionLod.record(sectionOrigin, lod);
+				} else {
+					PastelSectionLod.invalidate(sectionOrigin);
+				}
+
+				return result;
+			}));
+		}
+
+		if (hash == 0) {
+			PastelRebuildElision.invalidate(sectionOrigin);
+		} else {
+			// only trust the hash once this build's buffers have actually replaced the old ones
+			cir.setReturnValue(cir.getReturnValue().thenApply(result -> {
+				if (result == SectionTaskResult.SUCCESSFUL) {
+					PastelRebuildElision.confirm(sectionOrigin, hash);
+				} else {
+					PastelRebuildElision.invalidate(sectionOrigin);
+				}
+
+				return result;
+			}));
+		}
+	}
+}
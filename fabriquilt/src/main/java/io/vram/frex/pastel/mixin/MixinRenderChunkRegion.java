@@ -20,13 +20,11 @@
 
 package io.vram.frex.pastel.mixin;
 
-import java.util.BitSet;
-
-import it.unimi.dsi.fastutil.Hash;
-import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.HashCommon;
 import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import org.jetbrains.annotations.Nullable;
 import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Overwrite;
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.Unique;
 import org.spongepowered.asm.mixin.injection.At;
@@ -38,13 +36,20 @@ import net.minecraft.client.renderer.chunk.RenderChunk;
 import net.minecraft.client.renderer.chunk.RenderChunkRegion;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.BlockPos.MutableBlockPos;
+import net.minecraft.world.level.ColorResolver;
 import net.minecraft.world.level.Level;
+import net.minecraft.world.level.LightLayer;
 import net.minecraft.world.level.biome.Biome;
+import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.phys.shapes.VoxelShape;
 
 import io.vram.frex.api.math.PackedSectionPos;
+import io.vram.frex.api.model.util.FaceUtil;
 import io.vram.frex.api.world.RenderRegionBakeListener;
 import io.vram.frex.impl.world.ChunkRenderConditionContext;
+import io.vram.frex.impl.world.RegionBiomeSnapshot;
+import io.vram.frex.pastel.PastelRegionState;
 import io.vram.frex.pastel.PastelTerrainRenderContext;
 import io.vram.frex.pastel.mixinterface.RenderChunkRegionExt;
 
@@ -55,12 +60,12 @@ public abstract class MixinRenderChunkRegion implements RenderChunkRegionExt {
 
 	private PastelTerrainRenderContext context;
 	private int originX, originY, originZ;
-	private final Int2IntOpenHashMap brightnessCache = new Int2IntOpenHashMap(4096, Hash.FAST_LOAD_FACTOR);
-	private final Int2IntOpenHashMap aoLevelCache = new Int2IntOpenHashMap(4096, Hash.FAST_LOAD_FACTOR);
-	private final MutableBlockPos searchPos = new MutableBlockPos();
-	private final BitSet closedCheckBits = new BitSet();
-	private final BitSet closedResultBits = new BitSet();
+	private PastelRegionState state;
 	private Long2ObjectOpenHashMap<Object> renderDataObjects;
+	private RegionBiomeSnapshot biomeSnapshot;
+	private boolean hasContentHashes;
+	private long contentHash, geometryHash;
+	private int lod;
 
 	// For RenderRegionBakeListener
 	@Unique
@@ -70,8 +75,7 @@ public abstract class MixinRenderChunkRegion implements RenderChunkRegionExt {
 
 	@Inject(method = "<init>", at = @At("RETURN"))
 	public void onNew(Level level, int cxOff, int czOff, RenderChunk[][] renderChunks, CallbackInfo ci) {
-		brightnessCache.defaultReturnValue(Integer.MAX_VALUE);
-		aoLevelCache.defaultReturnValue(Integer.MAX_VALUE);
+		state = PastelRegionState.claim();
 		// capture our predicate search results while still on the same thread - will happen right after the hook above
 		listeners = TRANSFER_POOL.get().getListeners();
 	}
@@ -95,7 +99,7 @@ public abstract class MixinRenderChunkRegion implements RenderChunkRegionExt {
 
 	@Unique
 	private MutableBlockPos frx_sectionPosToSearchPos(int packedSectionPos) {
-		return searchPos.set(
+		return state.searchPos.set(
 			PackedSectionPos.unpackSectionX(packedSectionPos) + originX,
 			PackedSectionPos.unpackSectionY(packedSectionPos) + originY,
 			PackedSectionPos.unpackSectionZ(packedSectionPos) + originZ
@@ -120,7 +124,7 @@ public abstract class MixinRenderChunkRegion implements RenderChunkRegionExt {
 	@Unique
 	@Override
 	public int frx_cachedAoLevel(int packedSectionPos) {
-		int result = aoLevelCache.get(packedSectionPos);
+		int result = state.aoLevelCache.get(packedSectionPos);
 
 		if (result == Integer.MAX_VALUE) {
 			final var pos = frx_sectionPosToSearchPos(packedSectionPos);
@@ -133,7 +137,7 @@ public abstract class MixinRenderChunkRegion implements RenderChunkRegionExt {
 				result = 255;
 			}
 
-			aoLevelCache.put(packedSectionPos, result);
+			state.aoLevelCache.put(packedSectionPos, result);
 		}
 
 		return result;
@@ -142,13 +146,13 @@ public abstract class MixinRenderChunkRegion implements RenderChunkRegionExt {
 	@Unique
 	@Override
 	public int frx_cachedBrightness(int packedSectionPos) {
-		int result = brightnessCache.get(packedSectionPos);
+		int result = state.brightnessCache.get(packedSectionPos);
 
 		if (result == Integer.MAX_VALUE) {
 			final var pos = frx_sectionPosToSearchPos(packedSectionPos);
 			final var blockView = (RenderChunkRegion) (Object) this;
 			result = LevelRenderer.getLightColor(blockView, blockView.getBlockState(pos), pos);
-			brightnessCache.put(packedSectionPos, result);
+			state.brightnessCache.put(packedSectionPos, result);
 		}
 
 		return result;
@@ -163,30 +167,184 @@ public abstract class MixinRenderChunkRegion implements RenderChunkRegionExt {
 	@Unique
 	@Override
 	public boolean frx_isClosed(int packedSectionPos) {
-		if (closedCheckBits.get(packedSectionPos)) {
-			return closedResultBits.get(packedSectionPos);
+		if (state.closedCheckBits.get(packedSectionPos)) {
+			return state.closedResultBits.get(packedSectionPos);
 		}
 
 		final var pos = frx_sectionPosToSearchPos(packedSectionPos);
 		final var blockView = (RenderChunkRegion) (Object) this;
 		final var blockState = blockView.getBlockState(pos);
 		final boolean result = blockState.isSolidRender(blockView, pos);
-		closedCheckBits.set(packedSectionPos);
+		state.closedCheckBits.set(packedSectionPos);
 
 		if (result) {
-			closedResultBits.set(packedSectionPos);
+			state.closedResultBits.set(packedSectionPos);
+		}
+
+		return result;
+	}
+
+	@Unique
+	@Override
+	public int frx_cachedFullFaceFlags(BlockPos pos) {
+		final int packedSectionPos = frx_blockPosToSectionPos(pos);
+		int result = state.fullFaceCache.get(packedSectionPos);
+
+		if (result == Integer.MAX_VALUE) {
+			final var blockView = (RenderChunkRegion) (Object) this;
+			final BlockState blockState = blockView.getBlockState(pos);
+			result = 0;
+
+			if (blockState.canOcclude()) {
+				final VoxelShape shape = blockState.getOcclusionShape(blockView, pos);
+
+				for (int faceIndex = 0; faceIndex < FaceUtil.UNASSIGNED_INDEX; ++faceIndex) {
+					if (Block.isFaceFull(shape, FaceUtil.faceFromIndex(faceIndex))) {
+						result |= 1 << faceIndex;
+					}
+				}
+			}
+
+			state.fullFaceCache.put(packedSectionPos, result);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Biome-blended tint is the same for every block, fluid and neighbor that asks
+	 * for it at a given position, so it is computed once per position and source
+	 * for the duration of the section build.
+	 *
+	 * @author grondag
+	 * @reason performance
+	 */
+	@Overwrite
+	public int getBlockTint(BlockPos pos, ColorResolver colorResolver) {
+		final int x = pos.getX() - originX + 2;
+		final int y = pos.getY() - originY + 2;
+		final int z = pos.getZ() - originZ + 2;
+
+		// outside the packable section volume, or no build in progress
+		if (context == null || state == null || ((x | y | z) & ~31) != 0) {
+			return level.getBlockTint(pos, colorResolver);
+		}
+
+		final int slot = state.tintResolverSlot(colorResolver);
+
+		if (slot == -1) {
+			return level.getBlockTint(pos, colorResolver);
+		}
+
+		final int key = (slot << 15) | x | (y << 5) | (z << 10);
+		int result = state.tintCache.get(key);
+
+		if (result == Integer.MAX_VALUE) {
+			result = level.getBlockTint(pos, colorResolver);
+			state.tintCache.put(key, result);
 		}
 
 		return result;
 	}
 
+	@Unique
+	@Override
+	public long frx_contentHash(BlockPos origin) {
+		computeContentHashes(origin);
+		return contentHash;
+	}
+
+	@Unique
+	@Override
+	public long frx_geometryHash(BlockPos origin) {
+		computeContentHashes(origin);
+		return geometryHash;
+	}
+
+	@Unique
+	private void computeContentHashes(BlockPos origin) {
+		if (hasContentHashes) {
+			return;
+		}
+
+		final var blockView = (RenderChunkRegion) (Object) this;
+		final MutableBlockPos pos = state.searchPos;
+		final int x0 = origin.getX();
+		final int y0 = origin.getY();
+		final int z0 = origin.getZ();
+		long geometry = 0;
+		long light = 0;
+
+		// Render data objects aren't required to implement hashCode, so their changes can't be
+		// detected. Sections with render data are never elided or relit.
+		final var renderDataObjects = this.renderDataObjects;
+
+		if (renderDataObjects != null && !renderDataObjects.isEmpty()) {
+			geometryHash = 0;
+			contentHash = 0;
+			hasContentHashes = true;
+			return;
+		}
+
+		// same one-block padding that lighting, AO, culling and fluid corners can see
+		for (int y = -1; y <= 16; ++y) {
+			for (int z = -1; z <= 16; ++z) {
+				for (int x = -1; x <= 16; ++x) {
+					pos.set(x0 + x, y0 + y, z0 + z);
+					// Fluid state is derived from block state. Ids are unique per state, unlike identity hashes.
+					// Block entities only reach the mesh through render data, which is handled above.
+					geometry = HashCommon.mix(geometry + Block.getId(blockView.getBlockState(pos)));
+					light = HashCommon.mix(light + (blockView.getBrightness(LightLayer.SKY, pos) << 4 | blockView.getBrightness(LightLayer.BLOCK, pos)));
+				}
+			}
+		}
+
+		final var biomeSnapshot = this.biomeSnapshot;
+		geometry = HashCommon.mix(geometry + (biomeSnapshot == null ? 0 : biomeSnapshot.contentHash()));
+
+		geometryHash = geometry;
+		// a section that moved to another level of detail must not be elided
+		contentHash = HashCommon.mix(geometry + light + lod);
+		hasContentHashes = true;
+	}
+
+	@Unique
+	@Override
+	public void frx_release() {
+		final var state = this.state;
+
+		if (state != null) {
+			this.state = null;
+			PastelRegionState.release(state);
+		}
+	}
+
 	@Override
 	public @Nullable RenderRegionBakeListener[] frx_getRenderRegionListeners() {
 		return listeners;
 	}
 
+	@Unique
+	@Override
+	public void frx_setBiomeSnapshot(RegionBiomeSnapshot biomeSnapshot) {
+		this.biomeSnapshot = biomeSnapshot;
+	}
+
 	@Override
 	public Biome frx_getBiome(BlockPos pos) {
-		return level.getBiome(pos).value();
+		final var biomeSnapshot = this.biomeSnapshot;
+		return biomeSnapshot == null ? level.getBiome(pos).value() : biomeSnapshot.getBiome(pos);
+	}
+
+	@Unique
+	@Override
+	public void frx_setLod(int lod) {
+		this.lod = lod;
+	}
+
+	@Unique
+	@Override
+	public int frx_lod() {
+		return lod;
 	}
 }
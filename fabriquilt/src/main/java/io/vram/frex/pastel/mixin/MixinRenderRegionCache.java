@@ -20,13 +20,7 @@
 
 package io.vram.frex.pastel.mixin;
 
-import java.util.ConcurrentModificationException;
-import java.util.Map;
-import java.util.concurrent.atomic.AtomicInteger;
-
 import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
 import org.jetbrains.annotations.Nullable;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Unique;
@@ -38,21 +32,22 @@ import org.spongepowered.asm.mixin.injection.callback.LocalCapture;
 import net.minecraft.client.renderer.chunk.RenderChunkRegion;
 import net.minecraft.client.renderer.chunk.RenderRegionCache;
 import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.chunk.LevelChunk;
 
 import io.vram.frex.api.world.BlockEntityRenderData;
 import io.vram.frex.api.world.RenderRegionBakeListener;
+import io.vram.frex.impl.world.BlockEntityRenderIndex;
 import io.vram.frex.impl.world.ChunkRenderConditionContext;
+import io.vram.frex.impl.world.RegionBiomeSnapshot;
+import io.vram.frex.pastel.PastelRenderer;
 import io.vram.frex.pastel.mixinterface.RenderChunkRegionExt;
 
 // PERF: find a way to disable redundant Fabric MixinChunkRendeRegion mixin for fabric RenderAttachedBlockview
 @Mixin(RenderRegionCache.class)
 public abstract class MixinRenderRegionCache {
-	private static final AtomicInteger FRX_ERROR_COUNTER = new AtomicInteger();
-	private static final Logger FRX_LOGGER = LogManager.getLogger();
-
 	// For RenderRegionBakeListener
 	@Unique
 	private @Nullable RenderRegionBakeListener[] listeners;
@@ -65,35 +60,23 @@ public abstract class MixinRenderRegionCache {
 
 		for (final RenderRegionCache.ChunkInfo[] chunkOuter : chunkInfos) {
 			for (final RenderRegionCache.ChunkInfo chunk : chunkOuter) {
-				// Hash maps in chunks should generally not be modified outside of client thread
-				// but does happen in practice, due to mods or inconsistent vanilla behaviors, causing
-				// CMEs when we iterate the map.  (Vanilla does not iterate these maps when it builds
-				// the chunk cache and does not suffer from this problem.)
-				//
-				// We handle this simply by retrying until it works.  Ugly but effective.
-				for (;;) {
-					try {
-						dataObjects = mapChunk(chunk.chunk(), posFrom, posTo, dataObjects);
-						break;
-					} catch (final ConcurrentModificationException e) {
-						final int count = FRX_ERROR_COUNTER.incrementAndGet();
-
-						if (count <= 5) {
-							FRX_LOGGER.warn("[Render Data Attachment] Encountered CME during render region build. A mod is accessing or changing chunk data outside the main thread. Retrying.", e);
-
-							if (count == 5) {
-								FRX_LOGGER.info("[Render Data Attachment] Subsequent exceptions will be suppressed.");
-							}
-						}
-					}
-				}
+				dataObjects = mapChunk(chunk.chunk(), posFrom, posTo, dataObjects);
 			}
 		}
 
 		final var region = ci.getReturnValue();
 
-		if (dataObjects != null && region != null) {
-			((RenderChunkRegionExt) region).frx_setBlockEntityRenderData(dataObjects);
+		if (region != null) {
+			final var regionExt = (RenderChunkRegionExt) region;
+
+			if (dataObjects != null) {
+				regionExt.frx_setBlockEntityRenderData(dataObjects);
+			}
+
+			// capture biomes while still on the main thread so builder threads never touch the level
+			regionExt.frx_setBiomeSnapshot(new RegionBiomeSnapshot(level, posFrom, posTo));
+			// one camera reading for both the rebuild hash and the build itself
+			regionExt.frx_setLod(PastelRenderer.regionLod(posFrom, posTo));
 		}
 	}
 
@@ -104,21 +87,27 @@ public abstract class MixinRenderRegionCache {
 		final int zMax = posTo.getZ();
 		final int yMin = posFrom.getY();
 		final int yMax = posTo.getY();
+		final BlockEntityRenderIndex index = BlockEntityRenderIndex.get(chunk);
+
+		// Index buckets are immutable snapshots, so unlike the chunk's own block entity
+		// map they are safe to iterate even if a mod changes the chunk off-thread.
+		for (int sectionY = SectionPos.blockToSectionCoord(yMin); sectionY <= SectionPos.blockToSectionCoord(yMax); ++sectionY) {
+			for (final BlockEntity blockEntity : index.section(SectionPos.sectionToBlockCoord(sectionY))) {
+				final BlockPos entPos = blockEntity.getBlockPos();
+
+				if (entPos.getX() >= xMin && entPos.getX() <= xMax
+						&& entPos.getY() >= yMin && entPos.getY() <= yMax
+						&& entPos.getZ() >= zMin && entPos.getZ() <= zMax
+						&& !blockEntity.isRemoved()) {
+					final Object o = BlockEntityRenderData.get(blockEntity);
+
+					if (o != null) {
+						if (map == null) {
+							map = new Long2ObjectOpenHashMap<>();
+						}
 
-		for (final Map.Entry<BlockPos, BlockEntity> entry : chunk.getBlockEntities().entrySet()) {
-			final BlockPos entPos = entry.getKey();
-
-			if (entPos.getX() >= xMin && entPos.getX() <= xMax
-					&& entPos.getY() >= yMin && entPos.getY() <= yMax
-					&& entPos.getZ() >= zMin && entPos.getZ() <= zMax) {
-				final Object o = BlockEntityRenderData.get(entry.getValue());
-
-				if (o != null) {
-					if (map == null) {
-						map = new Long2ObjectOpenHashMap<>();
+						map.put(entPos.asLong(), o);
 					}
-
-					map.put(entPos.asLong(), o);
 				}
 			}
 		}
@@ -0,0 +1,50 @@
+/*
+ * This file is part of FREX and is licensed to the project under
+ * terms that are compatible with the GNU Lesser General Public License.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership and licensing.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.vram.frex.pastel.mixin;
+
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+import net.minecraft.client.renderer.chunk.SectionRenderDispatcher;
+import net.minecraft.core.BlockPos;
+
+import io.vram.frex.api.texture.SpriteVisibility;
+import io.vram.frex.pastel.PastelRebuildElision;
+import io.vram.frex.pastel.PastelRetainedQuads;
+import io.vram.frex.pastel.PastelSectionLod;
+
+@Mixin(SectionRenderDispatcher.RenderSection.class)
+public abstract class MixinRenderSection {
+	@Shadow public abstract BlockPos getOrigin();
+
+	// buffers no longer match whatever was last built at this origin
+	@Inject(method = {"reset", "releaseBuffers"}, at = @At("HEAD"))
+	private void onReset(CallbackInfo ci) {
+		final long sectionOrigin = getOrigin().asLong();
+		PastelRebuildElision.invalidate(sectionOrigin);
+		PastelRetainedQuads.invalidate(sectionOrigin);
+		PastelSectionLod.invalidate(sectionOrigin);
+		SpriteVisibility.get().removeSection(sectionOrigin);
+	}
+}
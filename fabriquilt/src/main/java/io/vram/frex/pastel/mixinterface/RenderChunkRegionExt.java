@@ -27,6 +27,7 @@ import net.minecraft.core.BlockPos;
 import net.minecraft.world.level.biome.Biome;
 
 import io.vram.frex.api.world.RenderRegionBakeListener;
+import io.vram.frex.impl.world.RegionBiomeSnapshot;
 import io.vram.frex.pastel.PastelTerrainRenderContext;
 
 public interface RenderChunkRegionExt {
@@ -38,6 +39,13 @@ public interface RenderChunkRegionExt {
 
 	boolean frx_isClosed(int cacheIndex);
 
+	/**
+	 * Faces of the block state at the given position that fully occlude
+	 * their neighbor, as a bit mask of face indices. Zero for block states
+	 * that cannot occlude.
+	 */
+	int frx_cachedFullFaceFlags(BlockPos pos);
+
 	@Nullable
 	Object frx_getBlockEntityRenderData(BlockPos pos);
 
@@ -47,8 +55,36 @@ public interface RenderChunkRegionExt {
 
 	void frx_setContext(PastelTerrainRenderContext context, BlockPos origin);
 
+	/**
+	 * Returns pooled lookup caches when the region is no longer needed.
+	 * Region lookups must not be used after this is called.
+	 */
+	void frx_release();
+
+	/**
+	 * Hash of everything in the padded section volume that affects its mesh:
+	 * block and fluid states, sky and block light and biomes. Zero, meaning the
+	 * content can't be compared, when any block entity in the region supplies
+	 * render data. Must be called before {@link #frx_release()}.
+	 */
+	long frx_contentHash(BlockPos origin);
+
+	/**
+	 * Same as {@link #frx_contentHash(BlockPos)} but without light, so it only
+	 * changes when the quads emitted for the section could change. Both hashes
+	 * are computed together and retained for the life of the region.
+	 */
+	long frx_geometryHash(BlockPos origin);
+
 	@Nullable
 	RenderRegionBakeListener[] frx_getRenderRegionListeners();
 
+	void frx_setBiomeSnapshot(RegionBiomeSnapshot biomeSnapshot);
+
 	Biome frx_getBiome(BlockPos pos);
+
+	/** Level of detail chosen once when the region is created, on the main thread. */
+	void frx_setLod(int lod);
+
+	int frx_lod();
 }